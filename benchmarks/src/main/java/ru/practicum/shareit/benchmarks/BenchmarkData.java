@@ -0,0 +1,226 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemCommentRow;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Детерминированные наборы данных для бенчмарков: те же сущности, что отдают репозитории сервера,
+ * с фиксированным зерном генератора, чтобы прогоны были сравнимы между собой.
+ */
+final class BenchmarkData {
+    static final LocalDateTime NOW = LocalDateTime.of(2022, 10, 1, 12, 0);
+    static final List<String> VOCABULARY = List.of(
+            "дрель", "перфоратор", "шуруповёрт", "лобзик", "болгарка", "пила", "лестница", "стремянка",
+            "палатка", "спальник", "рюкзак", "байдарка", "велосипед", "самокат", "сноуборд", "лыжи",
+            "фотоаппарат", "объектив", "штатив", "проектор", "колонка", "гитара", "синтезатор", "мангал",
+            "генератор", "компрессор", "пылесос", "мойка", "домкрат", "прицеп");
+
+    private BenchmarkData() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            User user = new User();
+            user.setId(id);
+            user.setName("user" + id);
+            user.setEmail("user" + id + "@mail.com");
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Item> items(int count, User owner, List<Request> requests) {
+        Random random = new Random(count);
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Item item = new Item();
+            item.setId(id);
+            item.setName("Дрель " + id);
+            item.setDescription("Аккумуляторная дрель, два аккумулятора, кейс " + id);
+            item.setAvailable(random.nextInt(10) > 0);
+            item.setOwner(owner);
+            if (!requests.isEmpty())
+                item.setRequest(requests.get(random.nextInt(requests.size())));
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Вещи с разными названиями и описаниями из словаря, как в поиске: название — слово и номер,
+     * описание — шесть слов словаря.
+     */
+    static List<Item> searchableItems(int count) {
+        Random random = new Random(count);
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < 6; word++)
+                description.append(word == 0 ? "" : " ").append(VOCABULARY.get(random.nextInt(VOCABULARY.size())));
+            Item item = new Item();
+            item.setId(id);
+            item.setName(VOCABULARY.get(random.nextInt(VOCABULARY.size())) + " №" + id);
+            item.setDescription(description.toString());
+            item.setAvailable(true);
+            items.add(item);
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(int count, List<Item> items, List<User> bookers) {
+        Random random = new Random(count);
+        Status[] statuses = Status.values();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime start = NOW.plusHours(random.nextInt(24 * 60) - 24 * 30);
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setStart(start);
+            booking.setEnd(start.plusHours(1 + random.nextInt(72)));
+            booking.setItem(items.get(random.nextInt(items.size())));
+            booking.setBooker(bookers.get(random.nextInt(bookers.size())));
+            booking.setStatus(statuses[random.nextInt(statuses.length)]);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    /**
+     * Не больше одной прошлой и одной будущей брони на вещь, как у оконного запроса findLastAndNextApprovedBookings.
+     */
+    static List<BookingShort> lastAndNextBookings(List<Item> items) {
+        Random random = new Random(items.size());
+        List<BookingShort> bookings = new ArrayList<>(items.size() * 2);
+        long id = 1;
+        for (Item item : items) {
+            if (random.nextBoolean())
+                bookings.add(bookingShort(id++, item.getId(), 1L + random.nextInt(100), NOW.minusDays(1 + random.nextInt(30))));
+            if (random.nextBoolean())
+                bookings.add(bookingShort(id++, item.getId(), 1L + random.nextInt(100), NOW.plusDays(1 + random.nextInt(30))));
+        }
+        return bookings;
+    }
+
+    static List<Request> requests(int count) {
+        List<Request> requests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Request request = new Request();
+            request.setId(id);
+            request.setDescription("Нужна дрель на выходные " + id);
+            request.setRequestorId(id);
+            request.setCreated(NOW.minusHours(id));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    /**
+     * Строки запроса findItemWithComments: вещь, повторённая для каждого комментария, или одна строка без комментария.
+     */
+    static List<ItemCommentRow> itemCommentRows(int comments) {
+        List<ItemCommentRow> rows = new ArrayList<>(Math.max(comments, 1));
+        if (comments == 0)
+            rows.add(new Row(null));
+        for (long commentId = 1; commentId <= comments; commentId++)
+            rows.add(new Row(commentId));
+        return rows;
+    }
+
+    private static BookingShort bookingShort(long id, long itemId, long bookerId, LocalDateTime start) {
+        return new BookingShort() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+        };
+    }
+
+    private static final class Row implements ItemCommentRow {
+        private final Long commentId;
+
+        private Row(Long commentId) {
+            this.commentId = commentId;
+        }
+
+        @Override
+        public Long getId() {
+            return 1L;
+        }
+
+        @Override
+        public String getName() {
+            return "Дрель";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Аккумуляторная дрель";
+        }
+
+        @Override
+        public Boolean getAvailable() {
+            return true;
+        }
+
+        @Override
+        public Long getOwnerId() {
+            return 1L;
+        }
+
+        @Override
+        public Long getRequestId() {
+            return null;
+        }
+
+        @Override
+        public Long getCommentId() {
+            return commentId;
+        }
+
+        @Override
+        public String getCommentText() {
+            return commentId == null ? null : "Отличная дрель, спасибо " + commentId;
+        }
+
+        @Override
+        public LocalDateTime getCommentCreated() {
+            return commentId == null ? null : NOW.minusDays(commentId);
+        }
+
+        @Override
+        public Long getAuthorId() {
+            return commentId == null ? null : 100 + commentId;
+        }
+
+        @Override
+        public String getAuthorName() {
+            return commentId == null ? null : "user" + commentId;
+        }
+    }
+}
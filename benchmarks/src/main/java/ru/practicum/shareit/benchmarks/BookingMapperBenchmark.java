@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private List<Booking> bookingList;
+
+    @Setup
+    public void setUp() {
+        bookingList = BenchmarkData.bookings(bookings,
+                BenchmarkData.items(50, BenchmarkData.users(1).get(0), List.of()), BenchmarkData.users(100));
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDtoList() {
+        return BookingMapper.toBookingDtoList(bookingList);
+    }
+}
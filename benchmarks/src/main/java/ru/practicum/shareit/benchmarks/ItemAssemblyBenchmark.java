@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.item.dto.ItemCommentRow;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка ItemDto: список вещей владельца с последней и следующей бронью (getAllOwnerItems)
+ * и карточка вещи с комментариями (findItemById). Запросы к базе не входят в замер.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemAssemblyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class OwnerItems {
+        @Param({"10", "100", "1000"})
+        private int items;
+
+        private List<Item> itemList;
+        private List<BookingShort> lastAndNextBookings;
+
+        @Setup
+        public void setUp() {
+            itemList = BenchmarkData.items(items, BenchmarkData.users(1).get(0), BenchmarkData.requests(20));
+            lastAndNextBookings = BenchmarkData.lastAndNextBookings(itemList);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ItemWithComments {
+        @Param({"0", "10", "100"})
+        private int comments;
+
+        private List<ItemCommentRow> itemCommentRows;
+
+        @Setup
+        public void setUp() {
+            itemCommentRows = BenchmarkData.itemCommentRows(comments);
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> toItemDtoList(OwnerItems state) {
+        return ItemMapper.toItemDtolist(state.itemList);
+    }
+
+    @Benchmark
+    public List<ItemDto> toItemDtoListWithBookings(OwnerItems state) {
+        return ItemMapper.toItemDtoListWithBookings(state.itemList, state.lastAndNextBookings, BenchmarkData.NOW);
+    }
+
+    @Benchmark
+    public ItemDto toItemDtoWithComments(ItemWithComments state) {
+        return ItemMapper.toItemDtoWithComments(state.itemCommentRows);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.InMemoryItemSearchIndex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по InMemoryItemSearchIndex на первой странице из 20 вещей: редкий запрос (название с номером),
+ * запрос из двух слов и частое слово, которое встречается примерно в каждой пятой вещи.
+ * maxCandidates — предел просмотра кандидатов; 2147483647 соответствует поиску без предела.
+ * После заполнения индекса в вывод пишется занятая им память кучи.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ItemSearchIndexBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Param({"100000", "1000000"})
+    private int items;
+
+    @Param({"10000", "2147483647"})
+    private int maxCandidates;
+
+    private InMemoryItemSearchIndex index;
+    private String rareQuery;
+
+    @Setup
+    public void setUp() {
+        List<Item> itemList = BenchmarkData.searchableItems(items);
+        long before = usedHeap();
+        index = new InMemoryItemSearchIndex(null, Runnable::run, 1000, maxCandidates);
+        for (Item item : itemList)
+            index.index(item);
+        System.out.printf("%nIndex of %d items takes %d MB of heap%n", items, (usedHeap() - before) >> 20);
+        rareQuery = itemList.get(items / 2).getName().toUpperCase();
+    }
+
+    @Benchmark
+    public List<Long> rareName() {
+        return index.search(rareQuery, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> twoWords() {
+        return index.search("дрель перфоратор", PAGE);
+    }
+
+    @Benchmark
+    public List<Long> frequentWord() {
+        return index.search("палатка", PAGE);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.request.service.RequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Лента запросов: маппинг запросов с вещами-ответами и getAllRequests сервиса целиком
+ * на репозиториях-заглушках, которые сразу отдают подготовленные списки.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestMapperBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int requests;
+
+    @Param({"1000", "10000", "100000"})
+    private int items;
+
+    private List<Request> requestList;
+    private List<Item> itemList;
+    private RequestServiceImpl requestService;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.users(1).get(0);
+        requestList = BenchmarkData.requests(requests);
+        itemList = BenchmarkData.items(items, user, requestList);
+        requestService = new RequestServiceImpl(
+                stub(UserRepository.class, Map.of("findByUserId", user)),
+                stub(ItemRepository.class, Map.of("findItemByRequestIn", itemList)),
+                stub(RequestRepository.class, Map.of("findRequestsByRequestorIdNotOrderByCreatedDesc", requestList)),
+                event -> {
+                });
+    }
+
+    @Benchmark
+    public List<RequestDto> toRequestDtoList() {
+        return RequestMapper.toRequestDtoList(requestList);
+    }
+
+    @Benchmark
+    public List<RequestDto> toRequestDtoListWithItems() {
+        return RequestMapper.toRequestDtoList(requestList, itemList);
+    }
+
+    @Benchmark
+    public List<RequestDto> getAllRequests() {
+        return requestService.getAllRequests(1L, 0, requests);
+    }
+
+    /**
+     * Репозиторий, который на перечисленные методы отвечает заданными значениями, а на остальные — ошибкой.
+     */
+    private static <T> T stub(Class<T> repository, Map<String, Object> answers) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    Object answer = answers.get(method.getName());
+                    if (answer == null)
+                        throw new UnsupportedOperationException(method.toString());
+                    return answer;
+                }));
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск: mvn -pl benchmarks -am package -DskipTests && java -jar benchmarks/target/benchmarks.jar [опции JMH].
+ * Результат — ops/s и, от профилировщика gc, gc.alloc.rate.norm: байт на операцию.
+ * Опции JMH из командной строки, например имя бенчмарка или -p items=100, переопределяют значения из аннотаций.
+ */
+public class ShareItBenchmarks {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
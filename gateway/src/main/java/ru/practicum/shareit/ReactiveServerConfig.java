@@ -0,0 +1,19 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * В профиле reactive шлюз работает на Reactor Netty: запросы обслуживаются несколькими потоками event loop,
+ * общими с WebClient. Без этой настройки Spring Boot выбрал бы Tomcat, который тоже есть в classpath.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -3,14 +3,18 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.tracing.ServerCallTracing;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,43 +22,48 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                         ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                         ServerCallTracing serverCallTracing) {
+        super(new DefaultUriBuilderFactory(serverUrl + API_PREFIX), transport, responseCache, requestCoalescer, serverCallTracing);
     }
 
-    public ResponseEntity<Object> create(long userId, BookingDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, BookingDto requestDto) {
         return post(userId, "", requestDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> update(Long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, new BookingDto());
     }
 
-    public ResponseEntity<Object> findBookingById(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public Mono<ResponseEntity<Object>> findBookingById(long userId, Long bookingId, String ifNoneMatch) {
+        return get("/" + bookingId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getAllBookingsByOwner(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllBookingsByOwner(Long userId, String state, Integer from, Integer size, String cursor,
+                                                            String ifNoneMatch) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return get("/owner?state={state}&from={from}&size={size}" + cursorQuery(cursor), userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getAllBookingsByBooker(long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllBookingsByBooker(long userId, String state, Integer from, Integer size, String cursor,
+                                                             String ifNoneMatch) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(cursor), userId, parameters, ifNoneMatch);
     }
-}
\ No newline at end of file
+
+    private static Map<String, Object> pageParameters(String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null)
+            parameters.put("cursor", cursor);
+        return parameters;
+    }
+
+    private static String cursorQuery(String cursor) {
+        return cursor == null ? "" : "&cursor={cursor}";
+    }
+}
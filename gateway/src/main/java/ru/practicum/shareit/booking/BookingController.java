@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import javax.validation.Valid;
@@ -28,38 +30,43 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @RequestBody @Valid BookingDto requestDto) {
         return bookingClient.create(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable Long bookingId) {
-        return bookingClient.findBookingById(userId, bookingId);
+    public Mono<ResponseEntity<Object>> findBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                          @PathVariable Long bookingId,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return bookingClient.findBookingById(userId, bookingId, ifNoneMatch);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                    @PathVariable("bookingId") Long bookingId,
                                                    @RequestParam("approved") Boolean approved) {
         return bookingClient.update(userId, bookingId, approved);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                 @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                                @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
-        return bookingClient.getAllBookingsByOwner(userId, state, from, size);
+                                                @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+                                                @RequestParam(name = "cursor", required = false) String cursor,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return bookingClient.getAllBookingsByOwner(userId, state, from, size, cursor, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getAllBookingsByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                  @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                  @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                                 @RequestParam(name = "size", defaultValue = "10") @Min(1) @Max(100) Integer size) {
+                                                 @RequestParam(name = "size", defaultValue = "10") @Min(1) @Max(100) Integer size,
+                                                 @RequestParam(name = "cursor", required = false) String cursor,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        return bookingClient.getAllBookingsByBooker(userId, state, from, size);
+        return bookingClient.getAllBookingsByBooker(userId, state, from, size, cursor, ifNoneMatch);
     }
 }
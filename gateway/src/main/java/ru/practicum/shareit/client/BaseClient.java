@@ -1,112 +1,154 @@
 package ru.practicum.shareit.client;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.tracing.ServerCallTracing;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Базовый клиент сервера. Ответ сервера не разбирается: тело передаётся вызывающему как есть, в байтах,
+ * вместе с заголовками из PASSTHROUGH_HEADERS. Доставку запроса выполняет ServerTransport:
+ * блокирующий RestTemplate по умолчанию или WebClient в профиле reactive.
+ * Ответы на cachedGet берутся из ResponseCache; события X-Cache-Invalidate из ответов сервера
+ * применяются к кешу до того, как ответ уйдёт клиенту.
+ * If-None-Match клиента передаётся серверу; для ответа из кеша шлюз сам сверяет его с ETag и отвечает 304.
+ * Одинаковые одновременные GET-запросы объединяются RequestCoalescer в один запрос к серверу.
+ * Каждый вызов сервера оборачивается клиентским спаном ServerCallTracing, который передаёт трассу в traceparent.
+ */
 public class BaseClient {
-    protected final RestTemplate rest;
-
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
-    }
-
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, "X-Next-Cursor");
+
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ServerTransport transport;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerCallTracing serverCallTracing;
+
+    public BaseClient(UriBuilderFactory uriBuilderFactory, ServerTransport transport, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer, ServerCallTracing serverCallTracing) {
+        this.uriBuilderFactory = uriBuilderFactory;
+        this.transport = transport;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.serverCallTracing = serverCallTracing;
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCodeValue());
+
+        for (String header : PASSTHROUGH_HEADERS) {
+            List<String> values = response.getHeaders().get(header);
+            if (values != null) {
+                responseBuilder.header(header, values.toArray(new String[0]));
+            }
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        byte[] body = response.getBody();
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
 
-    protected ResponseEntity<Object> get(String path) {
-        return get(path, null, null);
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable String ifNoneMatch) {
+        return get(path, null, null, ifNoneMatch);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId, @Nullable String ifNoneMatch) {
+        return get(path, userId, null, ifNoneMatch);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
-        return get(path, userId, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                               @Nullable String ifNoneMatch) {
+        return coalescedGet(expand(path, parameters), userId, ifNoneMatch);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> cachedGet(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                     @Nullable String ifNoneMatch) {
+        URI uri = expand(path, parameters);
+        if (!responseCache.isActive())
+            return coalescedGet(uri, userId, ifNoneMatch);
+        return responseCache.cached(ResponseCache.key(uri, userId), () -> coalescedGet(uri, userId, null))
+                .map(response -> notModifiedIfMatches(response, ifNoneMatch));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(long userId, String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(long userId, String path, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(long userId, String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(long userId, String path, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return send(method, expand(path, parameters), defaultHeaders(userId), body);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null ? uriBuilderFactory.expand(path, parameters) : uriBuilderFactory.expand(path);
+    }
+
+    private Mono<ResponseEntity<Object>> coalescedGet(URI uri, Long userId, @Nullable String ifNoneMatch) {
+        String key = ResponseCache.key(uri, userId) + (ifNoneMatch == null ? "" : "|" + ifNoneMatch);
+        return requestCoalescer.coalesced(key, () -> send(HttpMethod.GET, uri, conditionalHeaders(userId, ifNoneMatch), null));
+    }
+
+    private Mono<ResponseEntity<Object>> send(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body) {
+        return serverCallTracing.traced(method, uri, headers, tracedHeaders -> transport.exchange(method, uri, tracedHeaders, body))
+                .map(response -> {
+                    responseCache.invalidate(response.getHeaders().get(ResponseCache.INVALIDATE_HEADER));
+                    return prepareGatewayResponse(response);
+                });
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -118,4 +160,30 @@ public class BaseClient {
         }
         return headers;
     }
+
+    private HttpHeaders conditionalHeaders(Long userId, @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return headers;
+    }
+
+    private static ResponseEntity<Object> notModifiedIfMatches(ResponseEntity<Object> response, @Nullable String ifNoneMatch) {
+        String eTag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || eTag == null || response.getStatusCode() != HttpStatus.OK) {
+            return response;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || weak(tag).equals(weak(eTag))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        return response;
+    }
+
+    private static String weak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
 }
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+
+/**
+ * Держит подписку на поток событий об изменениях /internal/invalidations сервера и передаёт их в ResponseCache.
+ * При обрыве кеш очищается и отключается до переподключения.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationSubscriber {
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final ResponseCache responseCache;
+    private Disposable subscription;
+
+    public CacheInvalidationSubscriber(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                       ResponseCache responseCache) {
+        this.webClient = builder.baseUrl(serverUrl).build();
+        this.responseCache = responseCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!responseCache.isEnabled())
+            return;
+        subscription = webClient.get()
+                .uri("/internal/invalidations")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .doOnNext(event -> {
+                    if (event.data() == null) {
+                        log.info("Subscribed to server cache invalidations");
+                        responseCache.activate();
+                    } else {
+                        responseCache.invalidate(event.data());
+                    }
+                })
+                .doOnError(e -> {
+                    log.warn("Cache invalidation stream failed: {}", e.getMessage());
+                    responseCache.deactivate();
+                })
+                .doOnComplete(responseCache::deactivate)
+                .repeat()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null)
+            subscription.dispose();
+    }
+}
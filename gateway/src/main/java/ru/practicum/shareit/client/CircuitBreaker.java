@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker по последним windowSize вызовам. Когда среди них доля ошибок (сбой соединения, ответ 5xx)
+ * или медленных вызовов достигает порога, breaker размыкается и вызовы отклоняются сразу. Через openDuration
+ * пропускается halfOpenCalls пробных вызовов: если все прошли быстро и без ошибок, breaker замыкается.
+ * Результат вызова, начатого до смены состояния, не учитывается — для этого разрешение несёт номер эпохи.
+ */
+@Slf4j
+public class CircuitBreaker {
+    public static final long REJECTED = -1;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final CircuitBreakerSettings settings;
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int calls;
+    private int failedCalls;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.failed = new boolean[settings.getWindowSize()];
+        this.slow = new boolean[settings.getWindowSize()];
+    }
+
+    /**
+     * Возвращает эпоху, которую нужно передать в onResult или release, либо REJECTED.
+     */
+    public synchronized long acquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < settings.getOpenDuration().toNanos())
+                return REJECTED;
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= settings.getHalfOpenCalls())
+                return REJECTED;
+            halfOpenPermits++;
+        }
+        return epoch;
+    }
+
+    public synchronized void release(long permitEpoch) {
+        if (permitEpoch == epoch && state == State.HALF_OPEN)
+            halfOpenPermits--;
+    }
+
+    public synchronized void onResult(long permitEpoch, boolean failure, long durationNanos) {
+        if (permitEpoch != epoch)
+            return;
+        boolean slowCall = durationNanos >= settings.getSlowCallDuration().toNanos();
+        if (state == State.HALF_OPEN) {
+            if (failure || slowCall) {
+                transition(State.OPEN);
+            } else if (++halfOpenSucceeded == settings.getHalfOpenCalls()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (calls == failed.length) {
+            failedCalls -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failedCalls += failure ? 1 : 0;
+        slowCalls += slowCall ? 1 : 0;
+        next = (next + 1) % failed.length;
+        if (calls >= settings.getMinimumCalls()
+                && (failedCalls * 100 >= settings.getFailureRateThreshold() * calls
+                || slowCalls * 100 >= settings.getSlowCallRateThreshold() * calls))
+            transition(State.OPEN);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void transition(State target) {
+        log.warn("Circuit breaker for {} switched from {} to {}", name, state, target);
+        state = target;
+        epoch++;
+        openedAt = System.nanoTime();
+        halfOpenPermits = 0;
+        halfOpenSucceeded = 0;
+        next = 0;
+        calls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+    }
+}
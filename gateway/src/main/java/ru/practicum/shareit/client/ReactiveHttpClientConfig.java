@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Неблокирующий клиент сервера для профиля reactive. Использует те же настройки shareit-server.http.*,
+ * что и пул Apache HttpClient; ожидающие соединения запросы стоят в очереди, а не занимают потоки.
+ * Заполненность пула публикуется в метриках reactor.netty.connection.provider.*.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveHttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.http.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.http.max-pending:10000}") int maxPending,
+            @Value("${shareit-server.http.pool-timeout:1s}") Duration poolTimeout,
+            @Value("${shareit-server.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-timeout:60s}") Duration idleTimeout) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(poolTimeout)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareItServerWebClient(
+            ConnectionProvider shareItServerConnectionProvider,
+            WebClient.Builder builder,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
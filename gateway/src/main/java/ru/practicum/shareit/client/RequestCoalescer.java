@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных GET-запросов (single-flight): пока запрос к серверу с тем же
+ * ключом выполняется, новые запросы не уходят на сервер, а получают его результат.
+ * Запрос к серверу не отменяется, если клиент, который его начал, отключился, — его ждут остальные.
+ */
+@Component
+public class RequestCoalescer {
+    private final boolean enabled;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter joined;
+    private final DistributionSummary fanOut;
+
+    public RequestCoalescer(@Value("${shareit.coalescing.enabled:true}") boolean enabled, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.joined = Counter.builder("gateway.coalescing.joined")
+                .description("Requests served by joining an identical in-flight server call")
+                .register(registry);
+        this.fanOut = DistributionSummary.builder("gateway.coalescing.fan-out")
+                .description("Client requests served by one server call")
+                .register(registry);
+    }
+
+    public Mono<ResponseEntity<Object>> coalesced(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled)
+            return loader.get();
+        return Mono.defer(() -> {
+            Flight flight = new Flight();
+            flight.response = loader.get()
+                    .doFinally(signal -> {
+                        inFlight.remove(key, flight);
+                        fanOut.record(flight.requests.get());
+                    })
+                    .cache();
+            Flight current = inFlight.putIfAbsent(key, flight);
+            if (current == null)
+                return flight.response;
+            current.requests.incrementAndGet();
+            joined.increment();
+            return current.response;
+        });
+    }
+
+    private static final class Flight {
+        private final AtomicInteger requests = new AtomicInteger(1);
+        private Mono<ResponseEntity<Object>> response;
+    }
+}
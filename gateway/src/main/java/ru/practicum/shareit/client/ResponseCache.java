@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кеш успешных ответов сервера на GET-запросы. Ключ — путь, параметры запроса и X-Sharer-User-Id,
+ * так как, например, карточка вещи для владельца содержит бронирования.
+ * Записи удаляются по событиям сервера resource:id (заголовок X-Cache-Invalidate и поток
+ * /internal/invalidations). Кеш работает, только пока подписка на поток активна: пропущенное событие
+ * иначе оставило бы устаревшую запись до истечения TTL.
+ * Ответ, загрузка которого началась до очередного события, в кеш не попадает.
+ * Ключи записей сгруппированы по пути, чтобы событие сбрасывало только записи своего пути, не просматривая кеш.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+    public static final String INVALIDATE_HEADER = "X-Cache-Invalidate";
+    private static final String SEARCH_PATH = "/items/search";
+
+    private final boolean enabled;
+    private final Cache<String, ResponseEntity<Object>> cache;
+    private final Map<String, Set<String>> keysByPath = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean active;
+
+    public ResponseCache(@Value("${shareit.cache.enabled:true}") boolean enabled,
+                         @Value("${shareit.cache.max-size:10000}") long maxSize,
+                         @Value("${shareit.cache.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .evictionListener((String key, ResponseEntity<Object> response, RemovalCause cause) -> unindex(key))
+                .build();
+    }
+
+    public static String key(URI uri, @Nullable Long userId) {
+        String query = uri.getRawQuery();
+        return uri.getRawPath() + (query == null ? "" : "?" + query) + "#" + userId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isActive() {
+        return enabled && active;
+    }
+
+    public Mono<ResponseEntity<Object>> cached(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!isActive())
+            return loader.get();
+        return Mono.defer(() -> {
+            ResponseEntity<Object> response = cache.getIfPresent(key);
+            if (response != null)
+                return Mono.just(response);
+            long loadGeneration = generation.get();
+            return loader.get().doOnNext(loaded -> {
+                if (loaded.getStatusCode() != HttpStatus.OK || generation.get() != loadGeneration)
+                    return;
+                index(key);
+                cache.put(key, loaded);
+                if (generation.get() != loadGeneration) {
+                    cache.invalidate(key);
+                    unindex(key);
+                }
+            });
+        });
+    }
+
+    public void invalidate(@Nullable List<String> invalidations) {
+        if (invalidations == null)
+            return;
+        for (String invalidation : invalidations)
+            invalidate(invalidation);
+    }
+
+    public void invalidate(String invalidation) {
+        int separator = invalidation.indexOf(':');
+        if (separator < 0)
+            return;
+        String resource = invalidation.substring(0, separator);
+        String resourcePath = "/" + resource + "/" + invalidation.substring(separator + 1);
+        boolean searchChanged = resource.equals("items");
+        generation.incrementAndGet();
+        invalidatePath(resourcePath);
+        if (searchChanged)
+            invalidatePath(SEARCH_PATH);
+    }
+
+    public void activate() {
+        active = true;
+    }
+
+    public void deactivate() {
+        active = false;
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        keysByPath.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway-responses");
+    }
+
+    private void invalidatePath(String path) {
+        Set<String> keys = keysByPath.remove(path);
+        if (keys != null)
+            cache.invalidateAll(keys);
+    }
+
+    private void index(String key) {
+        keysByPath.compute(path(key), (path, keys) -> {
+            Set<String> pathKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            pathKeys.add(key);
+            return pathKeys;
+        });
+    }
+
+    private void unindex(String key) {
+        keysByPath.computeIfPresent(path(key), (path, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String path(String key) {
+        int end = key.indexOf('?');
+        return key.substring(0, end < 0 ? key.indexOf('#') : end);
+    }
+}
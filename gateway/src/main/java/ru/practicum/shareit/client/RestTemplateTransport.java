@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@Component
+@Profile("!reactive")
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final ServerRoutes serverRoutes;
+
+    public RestTemplateTransport(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory,
+                                 ServerRoutes serverRoutes) {
+        this.rest = builder
+                .requestFactory(() -> requestFactory)
+                .build();
+        this.serverRoutes = serverRoutes;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body) {
+        return serverRoutes.call(uri, () -> Mono.fromCallable(() -> {
+            try {
+                return rest.exchange(new RequestEntity<>(body, headers, method, uri), byte[].class);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getRawStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        }));
+    }
+}
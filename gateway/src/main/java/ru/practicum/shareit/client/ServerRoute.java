@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import ru.practicum.shareit.exceptions.ServerUnavailableException;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Запросы к серверу с общим префиксом пути: не больше maxConcurrentCalls одновременно (bulkhead)
+ * и собственный CircuitBreaker. Лишний запрос сразу получает отказ, а не ждёт, так что медленный поиск
+ * не занимает потоки шлюза, нужные бронированиям.
+ */
+public class ServerRoute {
+    @Getter
+    private final String pathPrefix;
+    @Getter
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejected;
+    private final Counter circuitBreakerRejected;
+
+    public ServerRoute(String pathPrefix, int maxConcurrentCalls, CircuitBreakerSettings settings, MeterRegistry registry) {
+        this.pathPrefix = pathPrefix;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(pathPrefix, settings);
+        Gauge.builder("gateway.route.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("route", pathPrefix)
+                .register(registry);
+        Gauge.builder("gateway.route.bulkhead.active", bulkhead, semaphore -> maxConcurrentCalls - semaphore.availablePermits())
+                .description("Server calls in flight on the route")
+                .tag("route", pathPrefix)
+                .register(registry);
+        this.bulkheadRejected = rejectedCounter(registry, "bulkhead");
+        this.circuitBreakerRejected = rejectedCounter(registry, "circuit-breaker");
+    }
+
+    public Mono<ResponseEntity<byte[]>> call(Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        return Mono.defer(() -> {
+            long epoch = circuitBreaker.acquire();
+            if (epoch == CircuitBreaker.REJECTED) {
+                circuitBreakerRejected.increment();
+                return Mono.error(new ServerUnavailableException("Сервер недоступен, повторите позже"));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.release(epoch);
+                bulkheadRejected.increment();
+                return Mono.error(new ServerUnavailableException("Слишком много запросов к " + pathPrefix
+                        + ", повторите позже"));
+            }
+            long start = System.nanoTime();
+            return call.get()
+                    .doOnNext(response -> circuitBreaker.onResult(epoch, response.getStatusCode().is5xxServerError(),
+                            System.nanoTime() - start))
+                    .doOnError(e -> circuitBreaker.onResult(epoch, true, System.nanoTime() - start))
+                    .doFinally(signal -> {
+                        bulkhead.release();
+                        if (signal == SignalType.CANCEL)
+                            circuitBreaker.release(epoch);
+                    });
+        });
+    }
+
+    private Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("gateway.route.rejected")
+                .description("Server calls rejected by the gateway without reaching the server")
+                .tag("route", pathPrefix)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
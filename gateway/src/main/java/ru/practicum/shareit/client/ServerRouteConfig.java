@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Маршруты к серверу с отдельными bulkhead и circuit breaker. Сумма лимитов не больше числа соединений
+ * с сервером (shareit-server.http.max-connections-per-route, проверяется в ServerRoutes) и меньше числа
+ * потоков Tomcat, поэтому даже зависший маршрут не забирает соединения и потоки остальных.
+ */
+@Configuration
+public class ServerRouteConfig {
+
+    @Bean
+    public CircuitBreakerSettings circuitBreakerSettings(
+            @Value("${shareit-server.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${shareit-server.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${shareit-server.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${shareit-server.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${shareit-server.circuit-breaker.slow-call-rate-threshold:80}") int slowCallRateThreshold,
+            @Value("${shareit-server.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${shareit-server.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        return new CircuitBreakerSettings(windowSize, minimumCalls, failureRateThreshold, slowCallDuration,
+                slowCallRateThreshold, openDuration, halfOpenCalls);
+    }
+
+    @Bean
+    public ServerRoute bookingsRoute(@Value("${shareit-server.routes.bookings.max-concurrent-calls:30}") int maxConcurrentCalls,
+                                     CircuitBreakerSettings circuitBreakerSettings, MeterRegistry registry) {
+        return new ServerRoute("/bookings", maxConcurrentCalls, circuitBreakerSettings, registry);
+    }
+
+    @Bean
+    public ServerRoute itemsRoute(@Value("${shareit-server.routes.items.max-concurrent-calls:30}") int maxConcurrentCalls,
+                                  CircuitBreakerSettings circuitBreakerSettings, MeterRegistry registry) {
+        return new ServerRoute("/items", maxConcurrentCalls, circuitBreakerSettings, registry);
+    }
+
+    @Bean
+    public ServerRoute usersRoute(@Value("${shareit-server.routes.users.max-concurrent-calls:20}") int maxConcurrentCalls,
+                                  CircuitBreakerSettings circuitBreakerSettings, MeterRegistry registry) {
+        return new ServerRoute("/users", maxConcurrentCalls, circuitBreakerSettings, registry);
+    }
+
+    @Bean
+    public ServerRoute requestsRoute(@Value("${shareit-server.routes.requests.max-concurrent-calls:20}") int maxConcurrentCalls,
+                                     CircuitBreakerSettings circuitBreakerSettings, MeterRegistry registry) {
+        return new ServerRoute("/requests", maxConcurrentCalls, circuitBreakerSettings, registry);
+    }
+}
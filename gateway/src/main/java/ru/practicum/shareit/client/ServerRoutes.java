@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Направляет запрос к серверу через ServerRoute по первому сегменту пути (/items/search — маршрут /items).
+ * Все маршруты делят один пул соединений с сервером, поэтому сумма их лимитов не должна превышать
+ * число соединений: иначе запросы одного маршрута ждали бы соединений, занятых другим.
+ */
+@Component
+public class ServerRoutes {
+    private final Map<String, ServerRoute> routes = new HashMap<>();
+
+    public ServerRoutes(List<ServerRoute> routes,
+                        @Value("${shareit-server.http.max-connections-per-route:100}") int maxConnectionsPerRoute) {
+        int maxConcurrentCalls = 0;
+        for (ServerRoute route : routes) {
+            this.routes.put(route.getPathPrefix(), route);
+            maxConcurrentCalls += route.getMaxConcurrentCalls();
+        }
+        if (maxConcurrentCalls > maxConnectionsPerRoute)
+            throw new IllegalStateException("Сумма лимитов маршрутов " + maxConcurrentCalls
+                    + " больше числа соединений с сервером " + maxConnectionsPerRoute);
+    }
+
+    public Mono<ResponseEntity<byte[]>> call(URI uri, Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        ServerRoute route = routes.get(prefix(uri.getRawPath()));
+        return route == null ? call.get() : route.call(call);
+    }
+
+    private static String prefix(String path) {
+        int end = path.indexOf('/', 1);
+        return end < 0 ? path : path.substring(0, end);
+    }
+}
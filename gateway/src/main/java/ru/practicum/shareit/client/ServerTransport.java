@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Способ доставки запроса на сервер. Ответ с любым статусом, в том числе с ошибкой, возвращается как есть.
+ * Запрос проходит через ServerRoutes: отклонённый bulkhead или circuit breaker завершается
+ * ServerUnavailableException без обращения к серверу.
+ */
+public interface ServerTransport {
+    Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body);
+}
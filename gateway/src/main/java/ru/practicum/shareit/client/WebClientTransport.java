@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@Component
+@Profile("reactive")
+public class WebClientTransport implements ServerTransport {
+    private final WebClient webClient;
+    private final ServerRoutes serverRoutes;
+
+    public WebClientTransport(WebClient shareItServerWebClient, ServerRoutes serverRoutes) {
+        this.webClient = shareItServerWebClient;
+        this.serverRoutes = serverRoutes;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri)
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        if (body != null)
+            request.bodyValue(body);
+        return serverRoutes.call(uri, () -> request.exchangeToMono(response -> response.toEntity(byte[].class)));
+    }
+}
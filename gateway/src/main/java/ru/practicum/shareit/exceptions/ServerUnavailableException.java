@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class ServerUnavailableException extends RuntimeException {
+    public ServerUnavailableException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.tracing.ServerCallTracing;
 
 import java.util.Map;
 
@@ -16,45 +19,43 @@ import java.util.Map;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                      ServerCallTracing serverCallTracing) {
+        super(new DefaultUriBuilderFactory(serverUrl + API_PREFIX), transport, responseCache, requestCoalescer, serverCallTracing);
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
         return post(userId, "", itemDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(Long userId, Long itemId, ItemDto itemDto) {
         return patch(userId, "/" + itemId, itemDto);
     }
 
-    public ResponseEntity<Object> getAllOwnerItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllOwnerItems(Long userId, Integer from, Integer size, String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("?from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findItemById(Long userId, Long id) {
-        return get("/" + id, userId);
+    public Mono<ResponseEntity<Object>> findItemById(Long userId, Long id, String ifNoneMatch) {
+        return cachedGet("/" + id, userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findItemForRental(Long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findItemForRental(Long userId, String text, Integer from, Integer size,
+                                                        String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return cachedGet("/search?text={text}&from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDTO) {
+    public Mono<ResponseEntity<Object>> createComment(Long userId, Long itemId, CommentDto commentDTO) {
         return post(userId, "/" + itemId + "/comment", commentDTO);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.Marker;
@@ -31,40 +33,43 @@ public class ItemController {
 
     @PostMapping
     @Validated(Marker.OnCreate.class)
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody @Valid ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody @Valid ItemDto itemDto) {
         return client.create(userId, itemDto);
     }
 
     @PatchMapping("/{id}")
     @Validated(Marker.OnUpdate.class)
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @RequestBody ItemDto itemDto,
                                          @PathVariable("id") Long id) {
         return client.update(userId, id, itemDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getAllOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                                @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
-        return client.getAllOwnerItems(userId, from, size);
+                                                @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.getAllOwnerItems(userId, from, size, ifNoneMatch);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findItemById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable("itemId") Long id) {
-        return client.findItemById(userId, id);
+    public Mono<ResponseEntity<Object>> findItemById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable("itemId") Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.findItemById(userId, id, ifNoneMatch);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemForRental(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> findItemForRental(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @RequestParam String text,
                                                       @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                                      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
-        return client.findItemForRental(userId, text, from, size);
+                                                      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.findItemForRental(userId, text, from, size, ifNoneMatch);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @PathVariable("itemId") Long itemId,
                                                 @RequestBody @Valid CommentDto commentDto) {
         return client.createComment(userId, itemId, commentDto);
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Группы лимитов. Запрос попадает в группу с самым длинным подходящим префиксом пути,
+ * остальные эндпоинты — в группу default.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFamily bookingsRateLimit(@Value("${shareit.rate-limit.bookings.capacity:40}") int capacity,
+                                             @Value("${shareit.rate-limit.bookings.per-second:20}") double perSecond) {
+        return new RateLimitFamily("bookings", "/bookings", capacity, perSecond);
+    }
+
+    @Bean
+    public RateLimitFamily itemSearchRateLimit(@Value("${shareit.rate-limit.items-search.capacity:20}") int capacity,
+                                               @Value("${shareit.rate-limit.items-search.per-second:10}") double perSecond) {
+        return new RateLimitFamily("items-search", "/items/search", capacity, perSecond);
+    }
+
+    @Bean
+    public RateLimitFamily allRequestsRateLimit(@Value("${shareit.rate-limit.requests-all.capacity:20}") int capacity,
+                                                @Value("${shareit.rate-limit.requests-all.per-second:10}") double perSecond) {
+        return new RateLimitFamily("requests-all", "/requests/all", capacity, perSecond);
+    }
+
+    @Bean
+    public RateLimitFamily defaultRateLimit(@Value("${shareit.rate-limit.default.capacity:100}") int capacity,
+                                            @Value("${shareit.rate-limit.default.per-second:50}") double perSecond) {
+        return new RateLimitFamily("default", "/", capacity, perSecond);
+    }
+}
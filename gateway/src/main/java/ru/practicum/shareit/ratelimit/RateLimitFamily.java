@@ -0,0 +1,28 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * Группа эндпоинтов с общим лимитом: путь запроса равен pathPrefix или начинается с pathPrefix + "/".
+ * Пользователь может сделать до capacity запросов подряд, дальше — perSecond запросов в секунду.
+ */
+@Getter
+public class RateLimitFamily {
+    private final String name;
+    private final String pathPrefix;
+    private final int capacity;
+    private final double perSecond;
+
+    public RateLimitFamily(String name, String pathPrefix, int capacity, double perSecond) {
+        if (capacity < 1 || perSecond <= 0)
+            throw new IllegalArgumentException("Лимит " + name + " должен быть положительным");
+        this.name = name;
+        this.pathPrefix = pathPrefix;
+        this.capacity = capacity;
+        this.perSecond = perSecond;
+    }
+
+    boolean matches(String path) {
+        return pathPrefix.equals("/") || path.equals(pathPrefix) || path.startsWith(pathPrefix + "/");
+    }
+}
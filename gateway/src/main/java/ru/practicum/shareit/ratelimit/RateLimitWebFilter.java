@@ -0,0 +1,50 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import java.net.InetSocketAddress;
+
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitWebFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+    private final byte[] rejection;
+
+    public RateLimitWebFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.rateLimiter = rateLimiter;
+        this.rejection = objectMapper.writeValueAsBytes(new ErrorResponse(RateLimiter.REJECTION_MESSAGE));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        long waitNanos = rateLimiter.tryAcquire(request.getPath().value(),
+                request.getHeaders().getFirst("X-Sharer-User-Id"),
+                remoteAddress == null ? null : remoteAddress.getHostString());
+        if (waitNanos == 0)
+            return chain.filter(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(waitNanos)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(rejection.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(rejection)));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket на пользователя (X-Sharer-User-Id) и группу эндпоинтов. Запросы без X-Sharer-User-Id
+ * учитываются по адресу клиента, чтобы пропуск заголовка не снимал лимит. Корзина хранится одним AtomicLong —
+ * моментом, когда она снова наполнится (алгоритм GCRA), и обновляется через CAS, без блокировок.
+ * Корзины лежат в Caffeine с ограничением размера и удаляются после idle-timeout простоя: к этому времени
+ * корзина всё равно полна, так что удаление лимит не сбрасывает.
+ */
+@Component
+public class RateLimiter {
+    public static final String REJECTION_MESSAGE = "Слишком много запросов, повторите позже";
+
+    private final boolean enabled;
+    private final List<Limit> limits = new ArrayList<>();
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(@Value("${shareit.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${shareit.rate-limit.max-buckets:100000}") long maxBuckets,
+                       @Value("${shareit.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                       List<RateLimitFamily> families, MeterRegistry registry) {
+        this.enabled = enabled;
+        Set<String> names = new HashSet<>();
+        for (RateLimitFamily family : families) {
+            if (!names.add(family.getName()))
+                throw new IllegalStateException("Группа лимитов " + family.getName() + " объявлена дважды");
+            limits.add(new Limit(family, registry));
+        }
+        limits.sort(Comparator.comparingInt((Limit limit) -> limit.family.getPathPrefix().length()).reversed());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        Gauge.builder("gateway.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .description("Users with an active rate limit bucket")
+                .register(registry);
+    }
+
+    /**
+     * Возвращает 0, если запрос допущен, иначе — через сколько наносекунд его можно повторить.
+     */
+    public long tryAcquire(String path, @Nullable String userId, @Nullable String remoteAddress) {
+        if (!enabled)
+            return 0;
+        String client = userId != null ? "user:" + userId : "address:" + remoteAddress;
+        return tryAcquire(path, client, System.nanoTime());
+    }
+
+    long tryAcquire(String path, String client, long now) {
+        Limit limit = find(path);
+        if (limit == null)
+            return 0;
+        AtomicLong fullAt = buckets.get(limit.family.getName() + ":" + client, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now < 0 ? now : current;
+            long next = start + limit.intervalNanos;
+            long wait = next - now - limit.burstNanos;
+            if (wait > 0) {
+                limit.rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next))
+                return 0;
+        }
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private Limit find(String path) {
+        for (Limit limit : limits) {
+            if (limit.family.matches(path))
+                return limit;
+        }
+        return null;
+    }
+
+    private static final class Limit {
+        private final RateLimitFamily family;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter rejected;
+
+        private Limit(RateLimitFamily family, MeterRegistry registry) {
+            this.family = family;
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / family.getPerSecond()));
+            this.burstNanos = intervalNanos * family.getCapacity();
+            this.rejected = Counter.builder("gateway.rate-limit.rejected")
+                    .description("Requests rejected with 429 by the per-user rate limit")
+                    .tag("family", family.getName())
+                    .register(registry);
+        }
+    }
+}
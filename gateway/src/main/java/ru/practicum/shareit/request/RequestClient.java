@@ -1,13 +1,16 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.tracing.ServerCallTracing;
 
 import java.util.Map;
 
@@ -15,32 +18,29 @@ import java.util.Map;
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                         ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                         ServerCallTracing serverCallTracing) {
+        super(new DefaultUriBuilderFactory(serverUrl + API_PREFIX), transport, responseCache, requestCoalescer, serverCallTracing);
     }
 
-    public ResponseEntity<Object> create(Long userId, RequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, RequestDto itemRequestDto) {
         return post(userId, "", itemRequestDto);
     }
 
-    public ResponseEntity<Object> findByUserIdAndRequestId(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> findByUserIdAndRequestId(Long userId, Long requestId, String ifNoneMatch) {
+        return cachedGet("/" + requestId, userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(Long userId, Integer from, Integer size, String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get("/all?from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getAllRequestsByRequestor(Long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getAllRequestsByRequestor(Long userId, String ifNoneMatch) {
+        return get("", userId, ifNoneMatch);
     }
 }
\ No newline at end of file
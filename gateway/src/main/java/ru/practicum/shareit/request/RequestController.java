@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import javax.validation.Valid;
@@ -27,26 +29,29 @@ public class RequestController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @RequestBody @Valid RequestDto requestDto) {
         return client.create(userId, requestDto);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findByUserIdAndRequestId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable("requestId") Long requestId) {
-        return client.findByUserIdAndRequestId(userId, requestId);
+    public Mono<ResponseEntity<Object>> findByUserIdAndRequestId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                          @PathVariable("requestId") Long requestId,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.findByUserIdAndRequestId(userId, requestId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return client.getAllRequestsByRequestor(userId);
+    public Mono<ResponseEntity<Object>> getAllRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.getAllRequestsByRequestor(userId, ifNoneMatch);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                         @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
-        return client.getAllRequests(userId, from, size);
+                                         @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.getAllRequests(userId, from, size, ifNoneMatch);
     }
 }
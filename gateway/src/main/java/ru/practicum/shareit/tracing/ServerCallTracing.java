@@ -0,0 +1,62 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.function.Function;
+
+/**
+ * Клиентский спан на каждый вызов сервера. Родитель берётся из контекста Reactor (профиль reactive)
+ * или из текущего потока запроса; заголовок traceparent ссылается на клиентский спан,
+ * так что серверный спан оказывается его потомком.
+ */
+@Component
+public class ServerCallTracing {
+    public static final String CONTEXT_KEY = "shareit.tracing.context";
+
+    private static final TextMapSetter<HttpHeaders> SETTER = HttpHeaders::set;
+
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
+
+    public ServerCallTracing(OpenTelemetry openTelemetry, Tracer tracer) {
+        this.openTelemetry = openTelemetry;
+        this.tracer = tracer;
+    }
+
+    public Mono<ResponseEntity<byte[]>> traced(HttpMethod method, URI uri, HttpHeaders headers,
+                                               Function<HttpHeaders, Mono<ResponseEntity<byte[]>>> call) {
+        return Mono.deferContextual(reactorContext -> {
+            Context parent = reactorContext.getOrDefault(CONTEXT_KEY, Context.current());
+            Span span = tracer.spanBuilder(method.name())
+                    .setParent(parent)
+                    .setSpanKind(SpanKind.CLIENT)
+                    .setAttribute("http.method", method.name())
+                    .setAttribute("http.url", uri.toString())
+                    .startSpan();
+            openTelemetry.getPropagators().getTextMapPropagator().inject(parent.with(span), headers, SETTER);
+            return call.apply(headers)
+                    .doOnNext(response -> {
+                        span.setAttribute("http.status_code", response.getStatusCodeValue());
+                        if (response.getStatusCode().is5xxServerError())
+                            span.setStatus(StatusCode.ERROR);
+                    })
+                    .doOnError(e -> {
+                        span.recordException(e);
+                        span.setStatus(StatusCode.ERROR);
+                    })
+                    .doFinally(signal -> span.end());
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Серверный спан на каждый запрос к шлюзу в профиле reactive. Потоки Netty не несут контекст OpenTelemetry,
+ * поэтому он передаётся дальше через контекст Reactor под ключом ServerCallTracing.CONTEXT_KEY.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingWebFilter implements WebFilter {
+    private static final TextMapGetter<ServerHttpRequest> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(ServerHttpRequest request) {
+            return request.getHeaders().keySet();
+        }
+
+        @Override
+        @Nullable
+        public String get(@Nullable ServerHttpRequest request, String key) {
+            return request == null ? null : request.getHeaders().getFirst(key);
+        }
+    };
+
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
+
+    public TracingWebFilter(OpenTelemetry openTelemetry, Tracer tracer) {
+        this.openTelemetry = openTelemetry;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getPath().value().startsWith("/actuator"))
+            return chain.filter(exchange);
+        Context parent = openTelemetry.getPropagators().getTextMapPropagator()
+                .extract(Context.root(), request, GETTER);
+        Span span = tracer.spanBuilder(request.getMethodValue())
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.method", request.getMethodValue())
+                .setAttribute("http.target", request.getPath().value())
+                .startSpan();
+        return chain.filter(exchange)
+                .doOnError(e -> {
+                    span.recordException(e);
+                    span.setStatus(StatusCode.ERROR);
+                })
+                .doFinally(signal -> end(span, exchange))
+                .contextWrite(context -> context.put(ServerCallTracing.CONTEXT_KEY, parent.with(span)));
+    }
+
+    private static void end(Span span, ServerWebExchange exchange) {
+        Object route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            span.updateName(exchange.getRequest().getMethodValue() + " " + route);
+            span.setAttribute("http.route", route.toString());
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.getRawStatusCode() != null) {
+            span.setAttribute("http.status_code", response.getRawStatusCode());
+            if (response.getRawStatusCode() >= 500)
+                span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+}
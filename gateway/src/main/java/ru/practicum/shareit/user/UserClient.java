@@ -1,44 +1,44 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.tracing.ServerCallTracing;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                      ServerCallTracing serverCallTracing) {
+        super(new DefaultUriBuilderFactory(serverUrl + API_PREFIX), transport, responseCache, requestCoalescer, serverCallTracing);
     }
 
-    public ResponseEntity<Object> create(UserDto userDTO) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDTO) {
         return post("", userDTO);
     }
 
-    public ResponseEntity<Object> update(Long userId, UserDto userDTO) {
+    public Mono<ResponseEntity<Object>> update(Long userId, UserDto userDTO) {
         return patch("/" + userId, userDTO);
     }
 
-    public ResponseEntity<Object> getUsers() {
-        return get("");
+    public Mono<ResponseEntity<Object>> getUsers(String ifNoneMatch) {
+        return get("", ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findUserById(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> findUserById(Long userId, String ifNoneMatch) {
+        return cachedGet("/" + userId, null, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> delete(Long userId) {
+    public Mono<ResponseEntity<Object>> delete(Long userId) {
         return delete("/" + userId);
     }
 
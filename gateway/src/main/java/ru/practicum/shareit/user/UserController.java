@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -9,8 +10,10 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validation.Marker;
 
@@ -29,29 +32,30 @@ public class UserController {
     @ResponseBody
     @Validated(Marker.OnCreate.class)
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         return userClient.create(userDto);
     }
 
     @ResponseBody
     @Validated(Marker.OnUpdate.class)
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto, @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto, @PathVariable Long userId) {
         return userClient.update(userId, userDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
-        return userClient.getUsers();
+    public Mono<ResponseEntity<Object>> getUsers(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return userClient.getUsers(ifNoneMatch);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> findUserById(@PathVariable Long userId) {
-        return userClient.findUserById(userId);
+    public Mono<ResponseEntity<Object>> findUserById(@PathVariable Long userId,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return userClient.findUserById(userId, ifNoneMatch);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long userId) {
         return userClient.delete(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CircuitBreakerTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    @Test
+    void shouldNotOpenBeforeMinimumCalls() {
+        CircuitBreaker breaker = breaker(10, 5, Duration.ofMinutes(1), 2);
+
+        record(breaker, 4, true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(breaker, 1, true, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(10, 4, Duration.ofMinutes(1), 2);
+
+        record(breaker, 3, false, FAST);
+        record(breaker, 2, true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(breaker, 1, true, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldOpenWhenSlowCallRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(10, 5, Duration.ofMinutes(1), 2);
+
+        record(breaker, 1, false, FAST);
+        record(breaker, 3, false, SLOW);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(breaker, 1, false, SLOW);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldCountOnlyCallsInsideWindow() {
+        CircuitBreaker breaker = breaker(4, 4, Duration.ofMinutes(1), 2);
+
+        record(breaker, 1, true, FAST);
+        record(breaker, 7, false, FAST);
+        record(breaker, 1, true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(breaker, 1, true, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldLetLimitedProbesThroughAndCloseWhenTheySucceed() {
+        CircuitBreaker breaker = breaker(10, 2, Duration.ZERO, 2);
+        record(breaker, 2, true, FAST);
+
+        long first = breaker.acquire();
+        long second = breaker.acquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+
+        breaker.onResult(first, false, FAST);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(second, false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFailsOrIsSlow() {
+        CircuitBreaker breaker = breaker(10, 2, Duration.ZERO, 2);
+        record(breaker, 2, true, FAST);
+
+        breaker.onResult(breaker.acquire(), true, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        breaker.onResult(breaker.acquire(), false, SLOW);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldRejectUntilOpenDurationPasses() {
+        CircuitBreaker breaker = breaker(10, 2, Duration.ofMinutes(1), 2);
+        record(breaker, 2, true, FAST);
+
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldIgnoreResultsOfCallsStartedInPreviousState() {
+        CircuitBreaker breaker = breaker(10, 2, Duration.ZERO, 1);
+        long stale = breaker.acquire();
+        record(breaker, 2, true, FAST);
+        long probe = breaker.acquire();
+
+        breaker.onResult(stale, true, FAST);
+        breaker.release(stale);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+
+        breaker.onResult(probe, false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReturnProbePermitOnRelease() {
+        CircuitBreaker breaker = breaker(10, 2, Duration.ZERO, 1);
+        record(breaker, 2, true, FAST);
+
+        long probe = breaker.acquire();
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+        breaker.release(probe);
+
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.acquire());
+    }
+
+    private static CircuitBreaker breaker(int windowSize, int minimumCalls, Duration openDuration, int halfOpenCalls) {
+        return new CircuitBreaker("/test", new CircuitBreakerSettings(windowSize, minimumCalls, 50,
+                Duration.ofSeconds(1), 80, openDuration, halfOpenCalls));
+    }
+
+    private static void record(CircuitBreaker breaker, int calls, boolean failure, long durationNanos) {
+        for (int i = 0; i < calls; i++)
+            breaker.onResult(breaker.acquire(), failure, durationNanos);
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RequestCoalescerTest {
+    private static final int CLIENTS = 16;
+    private static final String KEY = "/items/1#1";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(true, registry);
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final AtomicReference<Sinks.One<ResponseEntity<Object>>> server = new AtomicReference<>();
+
+    @Test
+    void shouldSendOneServerCallForConcurrentIdenticalRequests() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.coalesced(KEY, this::serverCall).block();
+                }));
+            }
+            start.countDown();
+            awaitJoined(CLIENTS - 1);
+            ResponseEntity<Object> response = ResponseEntity.ok("item");
+            server.get().tryEmitValue(response);
+
+            for (Future<ResponseEntity<Object>> future : responses)
+                assertSame(response, future.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, serverCalls.get());
+        DistributionSummary fanOut = registry.get("gateway.coalescing.fan-out").summary();
+        assertEquals(1, fanOut.count());
+        assertEquals(CLIENTS, fanOut.totalAmount());
+        assertEquals(CLIENTS - 1, registry.get("gateway.coalescing.joined").counter().count());
+    }
+
+    @Test
+    void shouldPassFailureToAllWaitingRequestsAndRetryNextOne() {
+        Mono<ResponseEntity<Object>> first = coalescer.coalesced(KEY, this::serverCall);
+        Mono<ResponseEntity<Object>> second = coalescer.coalesced(KEY, this::serverCall);
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+        first.subscribe(response -> { }, firstError::set);
+        second.subscribe(response -> { }, secondError::set);
+
+        server.get().tryEmitError(new ResourceAccessException("refused"));
+
+        assertInstanceOf(ResourceAccessException.class, firstError.get());
+        assertSame(firstError.get(), secondError.get());
+        assertEquals(1, serverCalls.get());
+
+        Mono<ResponseEntity<Object>> retry = coalescer.coalesced(KEY, this::serverCall);
+        Disposable pending = retry.subscribe();
+        assertEquals(2, serverCalls.get());
+        pending.dispose();
+    }
+
+    @Test
+    void shouldFinishServerCallForOthersWhenInitiatorCancels() {
+        Disposable initiator = coalescer.coalesced(KEY, this::serverCall).subscribe();
+        AtomicReference<ResponseEntity<Object>> received = new AtomicReference<>();
+        coalescer.coalesced(KEY, this::serverCall).subscribe(received::set);
+
+        initiator.dispose();
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        server.get().tryEmitValue(response);
+
+        assertSame(response, received.get());
+        assertEquals(1, serverCalls.get());
+        assertEquals(2, registry.get("gateway.coalescing.fan-out").summary().totalAmount());
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentKeysOrFinishedCalls() {
+        coalescer.coalesced(KEY, this::serverCall).subscribe();
+        coalescer.coalesced("/items/1#2", this::serverCall).subscribe();
+        assertEquals(2, serverCalls.get());
+
+        server.get().tryEmitValue(ResponseEntity.ok("item"));
+        coalescer.coalesced("/items/1#2", this::serverCall).subscribe();
+
+        assertEquals(3, serverCalls.get());
+        assertEquals(0, registry.get("gateway.coalescing.joined").counter().count());
+    }
+
+    @Test
+    void shouldCallServerForEveryRequestWhenDisabled() {
+        RequestCoalescer disabled = new RequestCoalescer(false, registry);
+        Supplier<Mono<ResponseEntity<Object>>> loader = () -> Mono.fromSupplier(() -> {
+            serverCalls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+
+        for (int i = 0; i < 3; i++)
+            disabled.coalesced(KEY, loader).block();
+
+        assertEquals(3, serverCalls.get());
+        assertEquals(0, registry.get("gateway.coalescing.fan-out").summary().count());
+    }
+
+    private Mono<ResponseEntity<Object>> serverCall() {
+        return Mono.defer(() -> {
+            serverCalls.incrementAndGet();
+            Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+            server.set(sink);
+            return sink.asMono();
+        });
+    }
+
+    private void awaitJoined(int requests) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get("gateway.coalescing.joined").counter().count() < requests
+                && System.nanoTime() < deadline)
+            Thread.sleep(10);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exceptions.ServerUnavailableException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerRouteTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectCallsOverBulkheadLimit() {
+        ServerRoute route = route(1, Duration.ofMinutes(1));
+        Disposable hanging = route.call(Mono::never).subscribe();
+
+        assertThrows(ServerUnavailableException.class, () -> route.call(ServerRouteTest::ok).block());
+        assertEquals(1.0, registry.get("gateway.route.rejected").tag("reason", "bulkhead").counter().count());
+
+        hanging.dispose();
+        assertEquals(HttpStatus.OK, route.call(ServerRouteTest::ok).block().getStatusCode());
+    }
+
+    @Test
+    void shouldRejectCallsWhileCircuitBreakerIsOpen() {
+        ServerRoute route = route(10, Duration.ofMinutes(1));
+        fail(route, 2);
+
+        assertThrows(ServerUnavailableException.class, () -> route.call(ServerRouteTest::ok).block());
+        assertEquals(1.0, registry.get("gateway.route.rejected").tag("reason", "circuit-breaker").counter().count());
+        assertEquals(1.0, registry.get("gateway.route.circuit-breaker.state").gauge().value());
+    }
+
+    @Test
+    void shouldReleaseProbeAndBulkheadPermitsOfCancelledCall() {
+        ServerRoute route = route(1, Duration.ZERO);
+        fail(route, 2);
+
+        Disposable probe = route.call(Mono::never).subscribe();
+        assertEquals(1.0, registry.get("gateway.route.bulkhead.active").gauge().value());
+        probe.dispose();
+
+        assertEquals(0.0, registry.get("gateway.route.bulkhead.active").gauge().value());
+        assertEquals(HttpStatus.OK, route.call(ServerRouteTest::ok).block().getStatusCode());
+        assertEquals(0.0, registry.get("gateway.route.circuit-breaker.state").gauge().value());
+    }
+
+    @Test
+    void shouldNotStartWhenRoutesNeedMoreConnectionsThanPoolHas() {
+        List<ServerRoute> routes = List.of(route(60, Duration.ZERO), new ServerRoute("/items", 50,
+                settings(Duration.ZERO), registry));
+
+        assertThrows(IllegalStateException.class, () -> new ServerRoutes(routes, 100));
+        new ServerRoutes(routes, 110);
+    }
+
+    @Test
+    void shouldRouteByFirstPathSegment() {
+        ServerRoutes routes = new ServerRoutes(List.of(route(1, Duration.ofMinutes(1))), 100);
+        Disposable hanging = routes.call(URI.create("/bookings/1"), Mono::never).subscribe();
+
+        assertThrows(ServerUnavailableException.class,
+                () -> routes.call(URI.create("/bookings/owner?state=ALL"), ServerRouteTest::ok).block());
+        assertEquals(HttpStatus.OK, routes.call(URI.create("/users/1"), ServerRouteTest::ok).block().getStatusCode());
+        hanging.dispose();
+    }
+
+    private ServerRoute route(int maxConcurrentCalls, Duration openDuration) {
+        return new ServerRoute("/bookings", maxConcurrentCalls, settings(openDuration), registry);
+    }
+
+    private static CircuitBreakerSettings settings(Duration openDuration) {
+        return new CircuitBreakerSettings(10, 2, 50, Duration.ofSeconds(1), 80, openDuration, 1);
+    }
+
+    private static void fail(ServerRoute route, int calls) {
+        for (int i = 0; i < calls; i++)
+            assertThrows(ResourceAccessException.class,
+                    () -> route.call(() -> Mono.error(new ResourceAccessException("refused"))).block());
+    }
+
+    private static Mono<ResponseEntity<byte[]>> ok() {
+        return Mono.just(ResponseEntity.ok(new byte[0]));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long NOW = 1_000 * SECOND;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldAdmitBurstOfExactlyCapacity() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitFamily("default", "/", 5, 10));
+
+        for (int i = 0; i < 5; i++)
+            assertEquals(0, rateLimiter.tryAcquire("/items", "user:1", NOW));
+
+        assertEquals(SECOND / 10, rateLimiter.tryAcquire("/items", "user:1", NOW));
+        assertEquals(1.0, registry.get("gateway.rate-limit.rejected").tag("family", "default").counter().count());
+    }
+
+    @Test
+    void shouldRefillOneRequestPerInterval() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitFamily("default", "/", 2, 4));
+        long interval = SECOND / 4;
+        rateLimiter.tryAcquire("/items", "user:1", NOW);
+        rateLimiter.tryAcquire("/items", "user:1", NOW);
+
+        assertEquals(interval / 2, rateLimiter.tryAcquire("/items", "user:1", NOW + interval / 2));
+        assertEquals(0, rateLimiter.tryAcquire("/items", "user:1", NOW + interval));
+        assertEquals(interval, rateLimiter.tryAcquire("/items", "user:1", NOW + interval));
+
+        // За простой корзина наполняется только до capacity
+        long later = NOW + 10 * SECOND;
+        assertEquals(0, rateLimiter.tryAcquire("/items", "user:1", later));
+        assertEquals(0, rateLimiter.tryAcquire("/items", "user:1", later));
+        assertEquals(interval, rateLimiter.tryAcquire("/items", "user:1", later));
+    }
+
+    @Test
+    void shouldRoundRetryAfterUpToWholeSeconds() {
+        assertEquals(1, RateLimiter.retryAfterSeconds(1));
+        assertEquals(1, RateLimiter.retryAfterSeconds(SECOND));
+        assertEquals(2, RateLimiter.retryAfterSeconds(SECOND + 1));
+        assertEquals(3, RateLimiter.retryAfterSeconds(3 * SECOND));
+    }
+
+    @Test
+    void shouldUseFamilyWithLongestMatchingPrefix() {
+        RateLimiter rateLimiter = rateLimiter(
+                new RateLimitFamily("default", "/", 3, 1),
+                new RateLimitFamily("items-search", "/items/search", 1, 1),
+                new RateLimitFamily("bookings", "/bookings", 2, 1));
+
+        assertEquals(0, rateLimiter.tryAcquire("/items/search", "user:1", NOW));
+        assertTrue(rateLimiter.tryAcquire("/items/search", "user:1", NOW) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("/bookings/owner", "user:1", NOW));
+        assertEquals(0, rateLimiter.tryAcquire("/bookings", "user:1", NOW));
+        assertTrue(rateLimiter.tryAcquire("/bookings/1", "user:1", NOW) > 0);
+
+        // /items/searching и /bookingsx не относятся к группам с этими префиксами
+        assertEquals(0, rateLimiter.tryAcquire("/items/searching", "user:1", NOW));
+        assertEquals(0, rateLimiter.tryAcquire("/bookingsx", "user:1", NOW));
+        assertEquals(0, rateLimiter.tryAcquire("/items/1", "user:1", NOW));
+        assertTrue(rateLimiter.tryAcquire("/users", "user:1", NOW) > 0);
+    }
+
+    @Test
+    void shouldLimitUsersAndAddressesSeparately() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitFamily("default", "/", 1, 1));
+
+        assertEquals(0, rateLimiter.tryAcquire("/items", "1", "10.0.0.1"));
+        assertTrue(rateLimiter.tryAcquire("/items", "1", "10.0.0.2") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("/items", "2", "10.0.0.1"));
+
+        assertEquals(0, rateLimiter.tryAcquire("/items", null, "10.0.0.1"));
+        assertTrue(rateLimiter.tryAcquire("/items", null, "10.0.0.1") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("/items", null, "10.0.0.2"));
+    }
+
+    @Test
+    void shouldAdmitEverythingWhenDisabled() {
+        RateLimiter rateLimiter = new RateLimiter(false, 100, Duration.ofMinutes(10),
+                List.of(new RateLimitFamily("default", "/", 1, 1)), registry);
+
+        for (int i = 0; i < 10; i++)
+            assertEquals(0, rateLimiter.tryAcquire("/items", null, null));
+    }
+
+    @Test
+    void shouldRejectDuplicateFamilies() {
+        assertThrows(IllegalStateException.class, () -> rateLimiter(new RateLimitFamily("default", "/", 1, 1),
+                new RateLimitFamily("default", "/items", 1, 1)));
+    }
+
+    private RateLimiter rateLimiter(RateLimitFamily... families) {
+        return new RateLimiter(true, 100, Duration.ofMinutes(10), List.of(families), registry);
+    }
+}
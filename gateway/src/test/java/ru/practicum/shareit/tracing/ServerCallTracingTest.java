@@ -0,0 +1,134 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerCallTracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CLIENT_SPAN_ID = "00f067aa0ba902b7";
+    private static final URI SERVER_URI = URI.create("http://localhost:9090/items/1");
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
+            .setTracerProvider(tracerProvider)
+            .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+            .build();
+    private final Tracer tracer = openTelemetry.getTracer("test");
+    private final ServerCallTracing serverCallTracing = new ServerCallTracing(openTelemetry, tracer);
+    private final AtomicReference<HttpHeaders> sentHeaders = new AtomicReference<>();
+
+    @AfterEach
+    void afterEach() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void shouldMakeServerCallChildOfServletRequestSpan() throws Exception {
+        TracingFilter filter = new TracingFilter(openTelemetry, tracer);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> callServer().block());
+
+        SpanData server = span(SpanKind.SERVER);
+        SpanData client = span(SpanKind.CLIENT);
+        assertEquals(TRACE_ID, server.getTraceId());
+        assertEquals(CLIENT_SPAN_ID, server.getParentSpanId());
+        assertChildWithPropagatedHeader(server, client);
+    }
+
+    @Test
+    void shouldMakeServerCallChildOfReactiveRequestSpan() {
+        TracingWebFilter filter = new TracingWebFilter(openTelemetry, tracer);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/items/1")
+                .header("traceparent", "00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01"));
+
+        filter.filter(exchange, webExchange -> callServer().then()).block();
+
+        SpanData server = span(SpanKind.SERVER);
+        SpanData client = span(SpanKind.CLIENT);
+        assertEquals(TRACE_ID, server.getTraceId());
+        assertEquals(CLIENT_SPAN_ID, server.getParentSpanId());
+        assertChildWithPropagatedHeader(server, client);
+    }
+
+    @Test
+    void shouldStartNewTraceWithoutIncomingContext() {
+        TracingWebFilter filter = new TracingWebFilter(openTelemetry, tracer);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/items/1"));
+
+        filter.filter(exchange, webExchange -> callServer().then()).block();
+
+        SpanData server = span(SpanKind.SERVER);
+        assertFalse(server.getParentSpanContext().isValid());
+        assertChildWithPropagatedHeader(server, span(SpanKind.CLIENT));
+    }
+
+    @Test
+    void shouldMarkClientSpanAsErrorWhenServerCallFails() {
+        Mono<ResponseEntity<byte[]>> call = serverCallTracing.traced(HttpMethod.GET, SERVER_URI, new HttpHeaders(),
+                headers -> Mono.error(new ResourceAccessException("Connection refused")));
+
+        assertThrows(ResourceAccessException.class, call::block);
+
+        SpanData client = span(SpanKind.CLIENT);
+        assertEquals(StatusCode.ERROR, client.getStatus().getStatusCode());
+        assertEquals(1, client.getEvents().size());
+    }
+
+    private Mono<ResponseEntity<byte[]>> callServer() {
+        return serverCallTracing.traced(HttpMethod.GET, SERVER_URI, new HttpHeaders(), headers -> {
+            sentHeaders.set(headers);
+            return Mono.just(ResponseEntity.ok(new byte[0]));
+        });
+    }
+
+    private void assertChildWithPropagatedHeader(SpanData server, SpanData client) {
+        assertEquals(server.getTraceId(), client.getTraceId());
+        assertEquals(server.getSpanId(), client.getParentSpanId());
+        assertEquals("00-" + client.getTraceId() + "-" + client.getSpanId() + "-01",
+                sentHeaders.get().getFirst("traceparent"));
+    }
+
+    private SpanData span(SpanKind kind) {
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        return spans.stream()
+                .filter(span -> span.getKind() == kind)
+                .reduce((first, second) -> {
+                    throw new AssertionError("Больше одного спана " + kind + ": " + spans);
+                })
+                .orElseThrow(() -> new AssertionError("Нет спана " + kind + ": " + spans));
+    }
+}
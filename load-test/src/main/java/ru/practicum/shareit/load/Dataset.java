@@ -0,0 +1,100 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * То, что сценарию нужно знать о сгенерированных данных: владельцы вещей, слова для поиска
+ * и очередь бронирований, ожидающих подтверждения. Подтверждение забирает бронь из очереди,
+ * поэтому одна бронь не подтверждается дважды.
+ */
+@Getter
+public class Dataset {
+    static final List<String> VOCABULARY = List.of(
+            "дрель", "перфоратор", "шуруповёрт", "лобзик", "болгарка", "пила", "лестница", "стремянка",
+            "палатка", "спальник", "рюкзак", "байдарка", "велосипед", "самокат", "сноуборд", "лыжи",
+            "фотоаппарат", "объектив", "штатив", "проектор", "колонка", "гитара", "синтезатор", "мангал",
+            "генератор", "компрессор", "пылесос", "мойка", "домкрат", "прицеп");
+
+    private final int users;
+    private final int owners;
+    private final long[] itemOwnerIds;
+    private final boolean[] itemAvailable;
+    private final int bookings;
+    private final int comments;
+    private final int requests;
+    private final Queue<WaitingBooking> waitingBookings = new ConcurrentLinkedQueue<>();
+
+    public Dataset(int users, int owners, long[] itemOwnerIds, boolean[] itemAvailable, int bookings, int comments,
+                   int requests, List<WaitingBooking> waitingBookings) {
+        this.users = users;
+        this.owners = owners;
+        this.itemOwnerIds = itemOwnerIds;
+        this.itemAvailable = itemAvailable;
+        this.bookings = bookings;
+        this.comments = comments;
+        this.requests = requests;
+        this.waitingBookings.addAll(waitingBookings);
+    }
+
+    public int items() {
+        return itemOwnerIds.length;
+    }
+
+    public long randomUser(Random random) {
+        return 1 + random.nextInt(users);
+    }
+
+    /**
+     * Идентификаторы вещей идут с 1, владелец вещи itemId — itemOwnerIds[itemId - 1].
+     */
+    public long randomItem(Random random) {
+        return 1 + random.nextInt(itemOwnerIds.length);
+    }
+
+    public long ownerOf(long itemId) {
+        return itemOwnerIds[(int) itemId - 1];
+    }
+
+    public boolean isAvailable(long itemId) {
+        return itemAvailable[(int) itemId - 1];
+    }
+
+    /**
+     * Владелец случайной вещи: нагрузка на владельца пропорциональна числу его вещей.
+     */
+    public long randomOwner(Random random) {
+        return ownerOf(randomItem(random));
+    }
+
+    public long randomBookerOf(long itemId, Random random) {
+        long owner = ownerOf(itemId);
+        long booker = randomUser(random);
+        return booker != owner ? booker : booker % users + 1;
+    }
+
+    public static String randomWord(Random random) {
+        return VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+    }
+
+    @Override
+    public String toString() {
+        return users + " users (" + owners + " owners), " + items() + " items, " + bookings + " bookings ("
+                + waitingBookings.size() + " waiting), " + comments + " comments, " + requests + " requests";
+    }
+
+    @Getter
+    public static class WaitingBooking {
+        private final long id;
+        private final long ownerId;
+
+        public WaitingBooking(long id, long ownerId) {
+            this.id = id;
+            this.ownerId = ownerId;
+        }
+    }
+}
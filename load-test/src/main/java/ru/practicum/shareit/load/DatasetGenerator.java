@@ -0,0 +1,241 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Синтетические данные ShareIt с заданным зерном:
+ * <ul>
+ *     <li>вещи распределены между владельцами по закону Ципфа с показателем owner-skew — несколько
+ *     крупных владельцев и длинный хвост владельцев с одной-двумя вещами;</li>
+ *     <li>у каждой вещи в среднем bookings-per-item непересекающихся броней, разложенных вокруг текущего
+ *     момента: прошедшие, текущие и будущие, со статусами, правдоподобными для своего времени;</li>
+ *     <li>комментарии оставляют арендаторы завершённых подтверждённых броней, часть вещей создана по запросам.</li>
+ * </ul>
+ * Строки вставляются пакетами с явными идентификаторами, затем identity-столбцы сдвигаются за максимум.
+ */
+@Slf4j
+public class DatasetGenerator {
+    private static final int BATCH_SIZE = 1000;
+
+    private final LoadDatabase database;
+    private final LoadTestSettings settings;
+
+    public DatasetGenerator(LoadDatabase database, LoadTestSettings settings) {
+        this.database = database;
+        this.settings = settings;
+    }
+
+    public Dataset generate() throws SQLException {
+        Flyway.configure()
+                .dataSource(database.jdbcUrl(), database.username(), database.password())
+                .locations(database.migrationLocations().toArray(new String[0]))
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+        Random random = new Random(settings.seed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        try (Connection connection = DriverManager.getConnection(database.jdbcUrl(), database.username(), database.password())) {
+            connection.setAutoCommit(false);
+            int users = settings.users();
+            long[] owners = insertUsers(connection, users, random);
+            int requests = insertRequests(connection, users, now, random);
+            long[] itemOwnerIds = new long[settings.items()];
+            boolean[] itemAvailable = new boolean[settings.items()];
+            insertItems(connection, owners, requests, itemOwnerIds, itemAvailable, random);
+            List<Dataset.WaitingBooking> waiting = new ArrayList<>();
+            int[] counts = insertBookingsAndComments(connection, users, itemOwnerIds, waiting, now, random);
+            restartIdentity(connection, "users", users + 1L);
+            restartIdentity(connection, "requests", requests + 1L);
+            restartIdentity(connection, "items", itemOwnerIds.length + 1L);
+            restartIdentity(connection, "bookings", counts[0] + 1L);
+            restartIdentity(connection, "comments", counts[1] + 1L);
+            connection.commit();
+            Dataset dataset = new Dataset(users, owners.length, itemOwnerIds, itemAvailable, counts[0], counts[1], requests, waiting);
+            log.info("Seeded {}", dataset);
+            return dataset;
+        }
+    }
+
+    private long[] insertUsers(Connection connection, int users, Random random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= users; id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "user" + id);
+                statement.setString(3, "user" + id + "@load.shareit");
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+        long[] userIds = new long[users];
+        for (int i = 0; i < users; i++)
+            userIds[i] = i + 1;
+        shuffle(userIds, random);
+        return Arrays.copyOf(userIds, Math.max(1, (int) (users * settings.ownerShare())));
+    }
+
+    private int insertRequests(Connection connection, int users, LocalDateTime now, Random random) throws SQLException {
+        int requests = settings.requests();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= requests; id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Ищу " + Dataset.randomWord(random) + " на " + (1 + random.nextInt(14)) + " дней");
+                statement.setLong(3, 1 + random.nextInt(users));
+                statement.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(90 * 24 * 60))));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+        return requests;
+    }
+
+    private void insertItems(Connection connection, long[] owners, int requests, long[] itemOwnerIds,
+                             boolean[] itemAvailable, Random random) throws SQLException {
+        double[] ownerWeights = cumulativeZipfWeights(owners.length, settings.ownerSkew());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < itemOwnerIds.length; i++) {
+                long id = i + 1;
+                String word = Dataset.randomWord(random);
+                itemOwnerIds[i] = owners[sample(ownerWeights, random)];
+                itemAvailable[i] = random.nextInt(10) > 0;
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(word) + " №" + id);
+                statement.setString(3, capitalize(word) + ", в комплекте " + Dataset.randomWord(random) + " и " + Dataset.randomWord(random));
+                statement.setBoolean(4, itemAvailable[i]);
+                statement.setLong(5, itemOwnerIds[i]);
+                if (requests > 0 && random.nextDouble() < settings.requestItemShare())
+                    statement.setLong(6, 1 + random.nextInt(requests));
+                else
+                    statement.setNull(6, Types.BIGINT);
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Брони одной вещи идут подряд без пересечений; начало цепочки сдвинуто в прошлое на случайную долю
+     * её длины, так что часть броней уже прошла, одна может идти сейчас, остальные впереди.
+     */
+    private int[] insertBookingsAndComments(Connection connection, int users, long[] itemOwnerIds,
+                                            List<Dataset.WaitingBooking> waiting, LocalDateTime now,
+                                            Random random) throws SQLException {
+        long bookingId = 0;
+        long commentId = 0;
+        try (PreparedStatement bookings = connection.prepareStatement(
+                "INSERT INTO bookings (id, start_date, end_date, item_id, user_id, status) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement comments = connection.prepareStatement(
+                     "INSERT INTO comments (id, text, item_id, user_id, created) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < itemOwnerIds.length; i++) {
+                long itemId = i + 1;
+                int count = random.nextInt(2 * settings.bookingsPerItem() + 1);
+                long[] startHours = new long[count];
+                long[] endHours = new long[count];
+                long hour = 0;
+                for (int b = 0; b < count; b++) {
+                    hour += random.nextInt(97);
+                    startHours[b] = hour;
+                    hour += 1 + random.nextInt(72);
+                    endHours[b] = hour;
+                }
+                long shift = count == 0 ? 0 : (long) (random.nextDouble() * hour);
+                for (int b = 0; b < count; b++) {
+                    LocalDateTime start = now.plusHours(startHours[b] - shift);
+                    LocalDateTime end = now.plusHours(endHours[b] - shift);
+                    long booker = 1 + random.nextInt(users);
+                    if (booker == itemOwnerIds[i])
+                        booker = booker % users + 1;
+                    Status status = status(start, end, now, random);
+                    bookings.setLong(1, ++bookingId);
+                    bookings.setTimestamp(2, Timestamp.valueOf(start));
+                    bookings.setTimestamp(3, Timestamp.valueOf(end));
+                    bookings.setLong(4, itemId);
+                    bookings.setLong(5, booker);
+                    bookings.setString(6, status.name());
+                    addBatch(bookings, bookingId);
+                    if (status == Status.WAITING)
+                        waiting.add(new Dataset.WaitingBooking(bookingId, itemOwnerIds[i]));
+                    if (status == Status.APPROVED && end.isBefore(now) && random.nextDouble() < settings.commentShare()) {
+                        comments.setLong(1, ++commentId);
+                        comments.setString(2, capitalize(Dataset.randomWord(random)) + " в порядке, спасибо");
+                        comments.setLong(3, itemId);
+                        comments.setLong(4, booker);
+                        comments.setTimestamp(5, Timestamp.valueOf(end.plusHours(1)));
+                        addBatch(comments, commentId);
+                    }
+                }
+            }
+            bookings.executeBatch();
+            comments.executeBatch();
+        }
+        return new int[]{(int) bookingId, (int) commentId};
+    }
+
+    private static Status status(LocalDateTime start, LocalDateTime end, LocalDateTime now, Random random) {
+        int dice = random.nextInt(10);
+        if (end.isBefore(now))
+            return dice < 8 ? Status.APPROVED : dice < 9 ? Status.REJECTED : Status.CANCELED;
+        if (start.isBefore(now))
+            return Status.APPROVED;
+        return dice < 5 ? Status.WAITING : dice < 9 ? Status.APPROVED : Status.REJECTED;
+    }
+
+    private void restartIdentity(Connection connection, String table, long nextId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(database.restartIdentity(table, nextId));
+        }
+    }
+
+    private static void addBatch(PreparedStatement statement, long row) throws SQLException {
+        statement.addBatch();
+        if (row % BATCH_SIZE == 0)
+            statement.executeBatch();
+    }
+
+    static double[] cumulativeZipfWeights(int size, double exponent) {
+        double[] weights = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            weights[rank - 1] = total;
+        }
+        return weights;
+    }
+
+    static int sample(double[] cumulativeWeights, Random random) {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    private static void shuffle(long[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * PostgreSQL из бинарников в зависимостях Maven: сеть не нужна, но запуск от root postgres не допускает.
+ * Сервер стартует с профилем postgres, то есть с полнотекстовым поиском вещей.
+ */
+public class EmbeddedPostgresLoadDatabase implements LoadDatabase {
+    private static final String DATABASE = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    public EmbeddedPostgresLoadDatabase(Path directory) throws IOException {
+        this.postgres = EmbeddedPostgres.builder()
+                .setDataDirectory(directory.toAbsolutePath())
+                .setCleanDataDirectory(true)
+                .start();
+    }
+
+    @Override
+    public String jdbcUrl() {
+        return postgres.getJdbcUrl(username(), DATABASE);
+    }
+
+    @Override
+    public String username() {
+        return "postgres";
+    }
+
+    @Override
+    public String password() {
+        return "";
+    }
+
+    @Override
+    public List<String> migrationLocations() {
+        return List.of("classpath:db/migration/common", "classpath:db/migration/postgresql",
+                "classpath:db/migration/postgresql-search");
+    }
+
+    @Override
+    public String restartIdentity(String table, long nextId) {
+        return "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + nextId + ", false)";
+    }
+
+    @Override
+    public List<String> serverArgs() {
+        return List.of(
+                "--spring.datasource.url=" + jdbcUrl(),
+                "--spring.datasource.driverClassName=org.postgresql.Driver",
+                "--spring.datasource.username=" + username(),
+                "--spring.datasource.password=" + password(),
+                "--spring.profiles.active=postgres");
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
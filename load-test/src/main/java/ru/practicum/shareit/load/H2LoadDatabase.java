@@ -0,0 +1,59 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Файловая H2: генератор пишет в неё и закрывает соединение, после чего базу открывает процесс сервера.
+ */
+public class H2LoadDatabase implements LoadDatabase {
+    private final String jdbcUrl;
+
+    public H2LoadDatabase(Path directory) throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+        Files.createDirectories(directory);
+        this.jdbcUrl = "jdbc:h2:file:" + directory.toAbsolutePath().resolve("shareit");
+    }
+
+    @Override
+    public String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    @Override
+    public String username() {
+        return "sa";
+    }
+
+    @Override
+    public String password() {
+        return "";
+    }
+
+    @Override
+    public List<String> migrationLocations() {
+        return List.of("classpath:db/migration/common");
+    }
+
+    @Override
+    public String restartIdentity(String table, long nextId) {
+        return "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId;
+    }
+
+    @Override
+    public List<String> serverArgs() {
+        return List.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=" + username(),
+                "--spring.datasource.password=" + password());
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * База, которую генератор заполняет данными и с которой затем запускается сервер.
+ */
+public interface LoadDatabase extends AutoCloseable {
+
+    static LoadDatabase create(String name, Path workDir) throws IOException {
+        switch (name) {
+            case "h2":
+                return new H2LoadDatabase(workDir.resolve("h2"));
+            case "postgres":
+                return new EmbeddedPostgresLoadDatabase(workDir.resolve("postgres"));
+            default:
+                throw new IllegalArgumentException("Неизвестная база " + name + ", допустимые: h2, postgres");
+        }
+    }
+
+    String jdbcUrl();
+
+    String username();
+
+    String password();
+
+    /**
+     * Миграции Flyway в том же составе, что выбирает сервер через {vendor}.
+     */
+    List<String> migrationLocations();
+
+    /**
+     * Запрос, сдвигающий identity-столбец id после вставки строк с явными идентификаторами.
+     */
+    String restartIdentity(String table, long nextId);
+
+    /**
+     * Аргументы сервера: подключение к этой базе и, при необходимости, профиль.
+     */
+    List<String> serverArgs();
+
+    @Override
+    void close() throws IOException;
+}
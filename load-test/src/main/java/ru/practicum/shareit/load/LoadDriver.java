@@ -0,0 +1,106 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки: запросы отправляются по расписанию с заданной частотой, не дожидаясь ответов
+ * на предыдущие. Задержка отсчитывается от запланированного момента отправки, а не от фактического,
+ * поэтому отставание самого генератора тоже попадает в перцентили.
+ * Если ответа ждут max-in-flight запросов, очередной запрос не отправляется и считается отброшенным.
+ */
+public class LoadDriver {
+    private final HttpClient client;
+    private final Scenario scenario;
+    private final int maxInFlight;
+
+    public LoadDriver(HttpClient client, Scenario scenario, int maxInFlight) {
+        this.client = client;
+        this.scenario = scenario;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Result run(double rps, Duration duration, Random random) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values())
+            stats.put(operation, new OperationStats());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long startedAt = System.nanoTime();
+        long endsAt = startedAt + duration.toNanos();
+        long dropped = 0;
+        for (long sent = 0; ; sent++) {
+            long scheduledAt = startedAt + sent * intervalNanos;
+            if (scheduledAt >= endsAt)
+                break;
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            if (!inFlight.tryAcquire()) {
+                dropped++;
+                continue;
+            }
+            Scenario.Call call = scenario.next(random);
+            OperationStats operationStats = stats.get(call.getOperation());
+            client.sendAsync(call.getRequest(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduledAt;
+                        if (error != null) {
+                            operationStats.recordFailure(latency);
+                        } else {
+                            operationStats.record(latency, response.statusCode());
+                            if (call.getOnSuccess() != null && response.statusCode() < 300)
+                                call.getOnSuccess().accept(response);
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES);
+        return new Result(stats, System.nanoTime() - startedAt, dropped);
+    }
+
+    @Getter
+    public static class Result {
+        private final Map<Operation, OperationStats> stats;
+        private final long elapsedNanos;
+        private final long dropped;
+
+        Result(Map<Operation, OperationStats> stats, long elapsedNanos, long dropped) {
+            this.stats = stats;
+            this.elapsedNanos = elapsedNanos;
+            this.dropped = dropped;
+        }
+
+        public void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%-16s %8s %9s %8s %7s %7s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "rps",
+                    "2xx/3xx", "4xx", "5xx", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            OperationStats total = new OperationStats();
+            for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+                if (entry.getValue().count() == 0)
+                    continue;
+                printRow(out, entry.getKey().getTitle(), entry.getValue(), seconds);
+                total.add(entry.getValue());
+            }
+            printRow(out, "total", total, seconds);
+            out.printf("elapsed %.1f s, dropped %d requests at max-in-flight%n", seconds, dropped);
+        }
+
+        private static void printRow(PrintStream out, String name, OperationStats stats, double seconds) {
+            out.printf("%-16s %8d %9.1f %8d %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, stats.count(),
+                    stats.count() / seconds, stats.successes(), stats.clientErrors(), stats.serverErrors(),
+                    stats.failures(), stats.percentileMillis(50), stats.percentileMillis(90),
+                    stats.percentileMillis(99), stats.percentileMillis(99.9), stats.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Нагрузочный прогон на одной машине без сети: база (файловая H2 или встроенный PostgreSQL) заполняется
+ * синтетическими данными, сервер и шлюз запускаются отдельными процессами, затем шлюз нагружается смесью
+ * запросов с заданной частотой. Итог — пропускная способность и перцентили задержки по каждой операции.
+ * <p>
+ * Запуск из корня проекта: mvn -B package -DskipTests &amp;&amp; java -jar load-test/target/load-test-0.0.1-SNAPSHOT.jar
+ * --rps=300 --duration=2m. Все параметры и значения по умолчанию — в LoadTestSettings, список — по --help.
+ * С --threads=compare сервер и шлюз прогоняются дважды, на платформенных и на виртуальных потоках;
+ * второй прогон идёт на данных, изменённых первым.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("logback.configurationFile", "logback-load-test.xml");
+        if (args.length == 1 && args[0].equals("--help")) {
+            LoadTestSettings.DEFAULTS.forEach((name, value) -> System.out.println("--" + name + "=" + value));
+            return;
+        }
+        run(LoadTestSettings.parse(args));
+    }
+
+    private static void run(LoadTestSettings settings) throws Exception {
+        List<String> threadModes = settings.threadModes();
+        if (threadModes.contains("virtual") && Runtime.version().feature() < 21)
+            throw new IllegalStateException("--threads=" + String.join(",", threadModes)
+                    + " требует запуска на Java 21 или новее, сейчас " + Runtime.version());
+        Path workDir = Files.createDirectories(settings.workDir());
+        try (LoadDatabase database = LoadDatabase.create(settings.database(), workDir)) {
+            Dataset dataset = new DatasetGenerator(database, settings).generate();
+            for (String threads : threadModes)
+                measure(settings, database, dataset, threads, workDir);
+        }
+    }
+
+    private static void measure(LoadTestSettings settings, LoadDatabase database, Dataset dataset, String threads,
+                                Path workDir) throws Exception {
+        List<String> profileArgs = threads.equals("virtual")
+                ? List.of("--spring.profiles.include=virtual-threads") : List.of();
+        try (ServiceProcess server = startServer(settings, database, profileArgs, workDir.resolve("server-" + threads + ".log"));
+             ServiceProcess gateway = startGateway(settings, profileArgs, workDir.resolve("gateway-" + threads + ".log"))) {
+            URI gatewayUri = URI.create("http://localhost:" + settings.gatewayPort());
+            Scenario scenario = new Scenario(gatewayUri, dataset, settings.mix(), settings.requestTimeout());
+            LoadDriver driver = new LoadDriver(HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build(), scenario, settings.maxInFlight());
+            Random random = new Random(settings.seed());
+            System.out.printf("Warming up for %s at %.0f rps on %s threads%n", settings.warmUp(), settings.rps(), threads);
+            driver.run(settings.rps(), settings.warmUp(), random);
+            System.out.printf("Measuring for %s at %.0f rps on %s threads%n", settings.duration(), settings.rps(), threads);
+            driver.run(settings.rps(), settings.duration(), random).print(System.out);
+        }
+    }
+
+    private static ServiceProcess startServer(LoadTestSettings settings, LoadDatabase database, List<String> profileArgs,
+                                              Path logFile) throws Exception {
+        List<String> args = new ArrayList<>(database.serverArgs());
+        args.addAll(profileArgs);
+        args.addAll(settings.serverArgs());
+        return ServiceProcess.start("server", settings.serverJvmArgs(),
+                List.of("-cp", System.getProperty("java.class.path"), "ru.practicum.shareit.ShareItServer"),
+                args, settings.serverPort(), logFile);
+    }
+
+    private static ServiceProcess startGateway(LoadTestSettings settings, List<String> profileArgs, Path logFile)
+            throws Exception {
+        List<String> args = new ArrayList<>(List.of("--shareit-server.url=http://localhost:" + settings.serverPort()));
+        args.addAll(profileArgs);
+        args.addAll(settings.gatewayArgs());
+        return ServiceProcess.start("gateway", settings.gatewayJvmArgs(),
+                List.of("-jar", settings.gatewayJar().toAbsolutePath().toString()),
+                args, settings.gatewayPort(), logFile);
+    }
+}
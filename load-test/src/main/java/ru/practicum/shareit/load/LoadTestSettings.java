@@ -0,0 +1,204 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Параметры прогона из аргументов вида --имя=значение. Неизвестное имя — ошибка, чтобы опечатка
+ * не превращала прогон в прогон с настройками по умолчанию.
+ */
+public class LoadTestSettings {
+    static final Map<String, String> DEFAULTS = defaults();
+
+    private final Map<String, String> values;
+
+    private LoadTestSettings(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0)
+                throw new IllegalArgumentException("Аргумент должен иметь вид --имя=значение: " + arg);
+            String name = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(name))
+                throw new IllegalArgumentException("Неизвестный параметр --" + name + ", допустимые: " + DEFAULTS.keySet());
+            values.put(name, arg.substring(separator + 1));
+        }
+        return new LoadTestSettings(values);
+    }
+
+    public static Set<String> names() {
+        return DEFAULTS.keySet();
+    }
+
+    public String database() {
+        return values.get("database");
+    }
+
+    public long seed() {
+        return Long.parseLong(values.get("seed"));
+    }
+
+    public int users() {
+        return Integer.parseInt(values.get("users"));
+    }
+
+    public double ownerShare() {
+        return Double.parseDouble(values.get("owner-share"));
+    }
+
+    public int items() {
+        return Integer.parseInt(values.get("items"));
+    }
+
+    public double ownerSkew() {
+        return Double.parseDouble(values.get("owner-skew"));
+    }
+
+    public int bookingsPerItem() {
+        return Integer.parseInt(values.get("bookings-per-item"));
+    }
+
+    public double commentShare() {
+        return Double.parseDouble(values.get("comment-share"));
+    }
+
+    public int requests() {
+        return Integer.parseInt(values.get("requests"));
+    }
+
+    public double requestItemShare() {
+        return Double.parseDouble(values.get("request-item-share"));
+    }
+
+    public int serverPort() {
+        return Integer.parseInt(values.get("server-port"));
+    }
+
+    public int gatewayPort() {
+        return Integer.parseInt(values.get("gateway-port"));
+    }
+
+    public Path gatewayJar() {
+        return Path.of(values.get("gateway-jar"));
+    }
+
+    public List<String> serverJvmArgs() {
+        return split(values.get("server-jvm-args"));
+    }
+
+    public List<String> gatewayJvmArgs() {
+        return split(values.get("gateway-jvm-args"));
+    }
+
+    public List<String> serverArgs() {
+        return split(values.get("server-args"));
+    }
+
+    public List<String> gatewayArgs() {
+        return split(values.get("gateway-args"));
+    }
+
+    /**
+     * Потоки обработки запросов в сервере и шлюзе: platform, virtual (профиль virtual-threads, Java 21+)
+     * или compare — два прогона подряд на одних данных, сначала platform, затем virtual.
+     */
+    public List<String> threadModes() {
+        String threads = values.get("threads");
+        switch (threads) {
+            case "platform":
+            case "virtual":
+                return List.of(threads);
+            case "compare":
+                return List.of("platform", "virtual");
+            default:
+                throw new IllegalArgumentException("--threads должен быть platform, virtual или compare: " + threads);
+        }
+    }
+
+    public Path workDir() {
+        return Path.of(values.get("work-dir"));
+    }
+
+    public double rps() {
+        return Double.parseDouble(values.get("rps"));
+    }
+
+    public Duration warmUp() {
+        return DurationStyle.detectAndParse(values.get("warm-up"));
+    }
+
+    public Duration duration() {
+        return DurationStyle.detectAndParse(values.get("duration"));
+    }
+
+    public int maxInFlight() {
+        return Integer.parseInt(values.get("max-in-flight"));
+    }
+
+    public Duration requestTimeout() {
+        return DurationStyle.detectAndParse(values.get("request-timeout"));
+    }
+
+    /**
+     * Доли операций в смеси, например create-booking=10,search=25. Веса не обязаны давать в сумме 100.
+     */
+    public Map<Operation, Integer> mix() {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : values.get("mix").split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Элемент смеси должен иметь вид операция=вес: " + entry);
+            mix.put(Operation.byName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return Collections.unmodifiableMap(mix);
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("database", "h2");
+        defaults.put("seed", "42");
+        defaults.put("users", "2000");
+        defaults.put("owner-share", "0.2");
+        defaults.put("items", "10000");
+        defaults.put("owner-skew", "1.1");
+        defaults.put("bookings-per-item", "5");
+        defaults.put("comment-share", "0.3");
+        defaults.put("requests", "500");
+        defaults.put("request-item-share", "0.1");
+        defaults.put("server-port", "19090");
+        defaults.put("gateway-port", "18080");
+        defaults.put("gateway-jar", "gateway/target/gateway-0.0.1-SNAPSHOT.jar");
+        defaults.put("server-jvm-args", "-Xmx1g");
+        defaults.put("gateway-jvm-args", "-Xmx512m");
+        defaults.put("server-args", "");
+        defaults.put("gateway-args", "--shareit.rate-limit.enabled=false");
+        defaults.put("threads", "platform");
+        defaults.put("work-dir", "load-test/target/run");
+        defaults.put("rps", "50");
+        defaults.put("warm-up", "15s");
+        defaults.put("duration", "60s");
+        defaults.put("max-in-flight", "2000");
+        defaults.put("request-timeout", "10s");
+        defaults.put("mix", "create-booking=10,approve-booking=5,owner-bookings=25,booker-bookings=25,search=25,owner-items=10");
+        return Collections.unmodifiableMap(defaults);
+    }
+}
+
+
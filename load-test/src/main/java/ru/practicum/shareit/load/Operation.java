@@ -0,0 +1,27 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+@Getter
+public enum Operation {
+    CREATE_BOOKING("create-booking"),
+    APPROVE_BOOKING("approve-booking"),
+    OWNER_BOOKINGS("owner-bookings"),
+    BOOKER_BOOKINGS("booker-bookings"),
+    SEARCH("search"),
+    OWNER_ITEMS("owner-items");
+
+    private final String title;
+
+    Operation(String title) {
+        this.title = title;
+    }
+
+    public static Operation byName(String title) {
+        for (Operation operation : values()) {
+            if (operation.title.equals(title))
+                return operation;
+        }
+        throw new IllegalArgumentException("Неизвестная операция " + title);
+    }
+}
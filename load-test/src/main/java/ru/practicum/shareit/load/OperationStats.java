@@ -0,0 +1,71 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки одной операции в микросекундах и счётчики ответов по классам кодов.
+ */
+public class OperationStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status >= 500)
+            serverErrors.increment();
+        else if (status >= 400)
+            clientErrors.increment();
+        else
+            successes.increment();
+    }
+
+    public void recordFailure(long latencyNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        failures.increment();
+    }
+
+    public void add(OperationStats other) {
+        latencies.add(other.latencies);
+        successes.add(other.successes.sum());
+        clientErrors.add(other.clientErrors.sum());
+        serverErrors.add(other.serverErrors.sum());
+        failures.add(other.failures.sum());
+    }
+
+    public long count() {
+        return latencies.getTotalCount();
+    }
+
+    public long successes() {
+        return successes.sum();
+    }
+
+    public long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    public long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+}
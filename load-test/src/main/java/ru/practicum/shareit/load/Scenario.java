@@ -0,0 +1,131 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Смесь запросов к шлюзу. Новые брони ставятся на год вперёд, чтобы почти не пересекаться с существующими,
+ * и попадают в очередь на подтверждение; если подтверждать нечего, вместо подтверждения владелец
+ * смотрит свои брони.
+ */
+public class Scenario {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI gateway;
+    private final Dataset dataset;
+    private final Duration timeout;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public Scenario(URI gateway, Dataset dataset, Map<Operation, Integer> mix, Duration timeout) {
+        this.gateway = gateway;
+        this.dataset = dataset;
+        this.timeout = timeout;
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0)
+            throw new IllegalArgumentException("Сумма весов смеси должна быть положительной");
+    }
+
+    public Call next(Random random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= point)
+            index++;
+        return call(operations[index], random);
+    }
+
+    private Call call(Operation operation, Random random) {
+        switch (operation) {
+            case CREATE_BOOKING:
+                return createBooking(random);
+            case APPROVE_BOOKING:
+                Dataset.WaitingBooking booking = dataset.getWaitingBookings().poll();
+                if (booking == null)
+                    return call(Operation.OWNER_BOOKINGS, random);
+                return new Call(operation, request("/bookings/" + booking.getId() + "?approved=" + (random.nextInt(5) > 0),
+                        booking.getOwnerId())
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build(), null);
+            case OWNER_BOOKINGS:
+                return get(operation, "/bookings/owner?state=ALL&from=0&size=20", dataset.randomOwner(random));
+            case BOOKER_BOOKINGS:
+                return get(operation, "/bookings?state=ALL&from=0&size=20", dataset.randomUser(random));
+            case SEARCH:
+                return get(operation, "/items/search?text=" + URLEncoder.encode(Dataset.randomWord(random), StandardCharsets.UTF_8)
+                        + "&from=0&size=20",
+                        dataset.randomUser(random));
+            case OWNER_ITEMS:
+                return get(operation, "/items?from=0&size=20", dataset.randomOwner(random));
+            default:
+                throw new IllegalStateException("Операция без запроса: " + operation);
+        }
+    }
+
+    private Call createBooking(Random random) {
+        long itemId = dataset.randomItem(random);
+        for (int attempt = 0; attempt < 10 && !dataset.isAvailable(itemId); attempt++)
+            itemId = dataset.randomItem(random);
+        long ownerId = dataset.ownerOf(itemId);
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .plusDays(365)
+                .plusHours(random.nextInt(365 * 24));
+        String body = "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\""
+                + start.plusHours(1 + random.nextInt(72)) + "\"}";
+        HttpRequest request = request("/bookings", dataset.randomBookerOf(itemId, random))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return new Call(Operation.CREATE_BOOKING, request, response -> {
+            try {
+                long bookingId = MAPPER.readTree(response.body()).path("id").asLong();
+                if (bookingId > 0)
+                    dataset.getWaitingBookings().add(new Dataset.WaitingBooking(bookingId, ownerId));
+            } catch (IOException ignored) {
+                // Ответ без тела брони — запрос уже учтён по коду ответа
+            }
+        });
+    }
+
+    private Call get(Operation operation, String path, long userId) {
+        return new Call(operation, request(path, userId).GET().build(), null);
+    }
+
+    private HttpRequest.Builder request(String path, long userId) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(timeout)
+                .header(USER_HEADER, String.valueOf(userId));
+    }
+
+    @Getter
+    public static class Call {
+        private final Operation operation;
+        private final HttpRequest request;
+        private final Consumer<HttpResponse<String>> onSuccess;
+
+        Call(Operation operation, HttpRequest request, Consumer<HttpResponse<String>> onSuccess) {
+            this.operation = operation;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер или шлюз в отдельной JVM, чтобы генератор нагрузки не делил с ними процессор и кучу.
+ * Вывод процесса пишется в файл; готовность — ответ 200 от /actuator/health.
+ */
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final String name;
+    private final Process process;
+
+    private ServiceProcess(String name, Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    public static ServiceProcess start(String name, List<String> jvmArgs, List<String> launchArgs, List<String> appArgs,
+                                       int port, Path logFile) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.addAll(launchArgs);
+        command.add("--server.port=" + port);
+        command.add("--spring.output.ansi.enabled=never");
+        command.addAll(appArgs);
+        log.info("Starting {}, log: {}", name, logFile.toAbsolutePath());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        ServiceProcess service = new ServiceProcess(name, process);
+        try {
+            service.awaitHealthy(URI.create("http://localhost:" + port + "/actuator/health"), logFile);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            service.close();
+            throw e;
+        }
+        return service;
+    }
+
+    private void awaitHealthy(URI health, Path logFile) throws InterruptedException, IOException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive())
+                throw new IOException(name + " завершился с кодом " + process.exitValue() + ", см. " + logFile);
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(health).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    log.info("{} is up", name);
+                    return;
+                }
+            } catch (IOException notYetListening) {
+                // Порт ещё не открыт
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IOException(name + " не поднялся за " + STARTUP_TIMEOUT.toSeconds() + " с, см. " + logFile);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS))
+            process.destroyForcibly().waitFor();
+    }
+}
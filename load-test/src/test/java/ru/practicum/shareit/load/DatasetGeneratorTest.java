@@ -0,0 +1,69 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetGeneratorTest {
+    @TempDir
+    Path workDir;
+
+    @Test
+    void shouldSeedConfiguredVolumesAndMoveIdentitiesPastThem() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse("--users=50", "--items=200", "--requests=20",
+                "--bookings-per-item=4");
+        try (H2LoadDatabase database = new H2LoadDatabase(workDir.resolve("h2"))) {
+            Dataset dataset = new DatasetGenerator(database, settings).generate();
+
+            try (Connection connection = DriverManager.getConnection(database.jdbcUrl(), database.username(),
+                    database.password()); Statement statement = connection.createStatement()) {
+                assertEquals(50, count(statement, "SELECT COUNT(*) FROM users"));
+                assertEquals(200, count(statement, "SELECT COUNT(*) FROM items"));
+                assertEquals(20, count(statement, "SELECT COUNT(*) FROM requests"));
+                assertEquals(dataset.getBookings(), count(statement, "SELECT COUNT(*) FROM bookings"));
+                assertEquals(dataset.getComments(), count(statement, "SELECT COUNT(*) FROM comments"));
+                assertEquals(dataset.getWaitingBookings().size(),
+                        count(statement, "SELECT COUNT(*) FROM bookings WHERE status = 'WAITING'"));
+                assertEquals(0, count(statement, "SELECT COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id"
+                        + " WHERE b.user_id = i.owner_id"));
+
+                statement.executeUpdate("INSERT INTO users (name, email) VALUES ('new', 'new@mail.com')");
+                assertEquals(51, count(statement, "SELECT id FROM users WHERE email = 'new@mail.com'"));
+            }
+        }
+    }
+
+    @Test
+    void shouldGiveEveryItemAnOwnerFromTheOwnerShare() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse("--users=100", "--items=500", "--owner-share=0.1");
+        try (H2LoadDatabase database = new H2LoadDatabase(workDir.resolve("h2"))) {
+            Dataset dataset = new DatasetGenerator(database, settings).generate();
+
+            assertEquals(10, dataset.getOwners());
+            Random random = new Random(1);
+            for (int i = 0; i < 100; i++) {
+                long itemId = dataset.randomItem(random);
+                long ownerId = dataset.ownerOf(itemId);
+                assertTrue(ownerId >= 1 && ownerId <= 100);
+                assertTrue(dataset.randomBookerOf(itemId, random) != ownerId);
+            }
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
@@ -24,6 +26,8 @@ import java.util.List;
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     public BookingController(BookingService bookingService) {
@@ -50,24 +54,37 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                                   @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                   @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
-                                                   @RequestParam(name = "size", defaultValue = "20") @Max(25) int size) {
-        return bookingService.getAllBookingsByBooker(bookerId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getAllBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                                                   @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                   @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                                                   @RequestParam(name = "size", defaultValue = "20") @Max(25) int size,
+                                                                   @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor == null)
+            return ResponseEntity.ok(bookingService.getAllBookingsByBooker(bookerId, state, from, size));
+        return withNextCursor(bookingService.getBookingsPageByBooker(bookerId, state, cursor, size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                  @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                                  @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(25) int size) {
-        return bookingService.getAllBookingsByOwner(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                  @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                  @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
+                                                                  @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(25) int size,
+                                                                  @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor == null)
+            return ResponseEntity.ok(bookingService.getAllBookingsByOwner(userId, state, from, size));
+        return withNextCursor(bookingService.getBookingsPageByOwner(userId, state, cursor, size), size);
     }
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         bookingService.delete(id);
     }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> page, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty() && page.size() == size)
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.after(page.get(page.size() - 1)).encode());
+        return response.body(page);
+    }
 }
 
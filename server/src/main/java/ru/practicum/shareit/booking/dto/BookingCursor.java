@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+import ru.practicum.shareit.exceptions.WrongRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+public class BookingCursor {
+    private final LocalDateTime start;
+    private final Long id;
+
+    public BookingCursor(LocalDateTime start, Long id) {
+        this.start = start;
+        this.id = id;
+    }
+
+    public static BookingCursor after(BookingDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            if (parts.length != 2)
+                throw new WrongRequestException("Некорректный курсор: " + cursor);
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new WrongRequestException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String value = start + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
@@ -45,6 +46,15 @@ public class BookingMapper {
         return bookingDto;
     }
 
+    public static BookingDto toBookingDtoShort(BookingShort booking) {
+        if (booking == null)
+            return null;
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(booking.getId());
+        bookingDto.setBookerId(booking.getBookerId());
+        return bookingDto;
+    }
+
     public static List<BookingDto> toBookingDtoList(List<Booking> bookings) {
         List<BookingDto> bookingDtoList = new ArrayList<>();
         for (Booking booking : bookings) {
@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @ToString
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.LIST_GRAPH, attributeNodes = @NamedAttributeNode("item"))
 public class Booking {
+    public static final String LIST_GRAPH = "Booking.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,12 +25,16 @@ public class Booking {
     private LocalDateTime start;
     @Column(name = "end_date")
     private LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
+    @ToString.Exclude
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
     private User booker;
     @Enumerated(EnumType.STRING)
     private Status status;
+    @Version
+    private Long version;
 }
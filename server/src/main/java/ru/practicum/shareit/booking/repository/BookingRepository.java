@@ -2,47 +2,132 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @Override
+    @EntityGraph(Booking.LIST_GRAPH)
+    Optional<Booking> findById(Long id);
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
     default Booking findByBookingId(Long id) {
         return findById(id).orElseThrow(() -> new NotFoundException("Бронирование с id = " + id + " не найдено"));
     }
 
-    Booking findFirstByItemIdAndStatusAndStartIsBeforeOrderByStartDesc(Long itemId, Status bookingStatus, LocalDateTime currentTime);
-
-    Booking findFirstByItemIdAndStatusAndStartIsAfterOrderByStart(Long itemId, Status bookingStatus, LocalDateTime currentTime);
-
-    List<Booking> findAllByEndBeforeAndStatusAndItemInOrderByStartDesc(LocalDateTime currentTime, Status bookingStatus, List<Item> items);
-
-    List<Booking> findAllByStartAfterAndStatusAndItemInOrderByStartDesc(LocalDateTime currentTime, Status bookingStatus, List<Item> items);
-
-    List<Booking> findAllByItem_OwnerIdOrderByStartDesc(Long ownerId, PageRequest of);
-
-    List<Booking> findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long ownerId, LocalDateTime currentTimeForStart, LocalDateTime currentTimeForEnd, PageRequest of);
-
-    List<Booking> findAllByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(long ownerId, LocalDateTime now, PageRequest of);
-
-    List<Booking> findAllByItem_OwnerIdAndStartIsAfterOrderByStartDesc(Long ownerId, LocalDateTime currentTime, PageRequest of);
-
-    List<Booking> findAllByItem_OwnerIdAndStatusOrderByStartDesc(Long ownerId, Status bookingStatus, PageRequest of);
-
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndItem_IdAndStatusAndEndIsBefore(Long bookerId, Long itemId, Status bookingStatus, LocalDateTime currentTime);
-
-    List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime currentDate, PageRequest of);
-
-    List<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime currentDate, PageRequest of);
-
-    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStart(Long bookerId, LocalDateTime currentTimeForStart, LocalDateTime currentTimeForEnd, PageRequest of);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId, Status bookingStatus, PageRequest of);
+    /**
+     * Переводит бронирование из статуса expected в status одним UPDATE без блокировки строки.
+     * Возвращает 0, если статус уже сменил другой запрос; версия увеличивается, чтобы сохранение
+     * устаревшей копии сущности завершилось конфликтом.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 where b.id = :id and b.status = :expected")
+    int updateStatus(@Param("id") Long id, @Param("expected") Status expected, @Param("status") Status status);
+
+    @Query(value = "select id, item_id as itemId, user_id as bookerId, start_date as start from (" +
+            "select b.id, b.item_id, b.user_id, b.start_date, " +
+            "row_number() over (partition by b.item_id order by b.start_date desc, b.id desc) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.end_date < :currentTime) last_bookings " +
+            "where rn = 1 " +
+            "union all " +
+            "select id, item_id as itemId, user_id as bookerId, start_date as start from (" +
+            "select b.id, b.item_id, b.user_id, b.start_date, " +
+            "row_number() over (partition by b.item_id order by b.start_date, b.id) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_date > :currentTime) next_bookings " +
+            "where rn = 1",
+            nativeQuery = true)
+    List<BookingShort> findLastAndNextApprovedBookings(@Param("itemIds") List<Long> itemIds,
+                                                       @Param("currentTime") LocalDateTime currentTime);
+
+    @Query(value = "(select b.id, b.item_id as itemId, b.user_id as bookerId, b.start_date as start " +
+            "from bookings b " +
+            "where b.item_id = :itemId and b.status = 'APPROVED' and b.start_date < :currentTime " +
+            "order by b.start_date desc, b.id desc limit 1) " +
+            "union all " +
+            "(select b.id, b.item_id as itemId, b.user_id as bookerId, b.start_date as start " +
+            "from bookings b " +
+            "where b.item_id = :itemId and b.status = 'APPROVED' and b.start_date > :currentTime " +
+            "order by b.start_date, b.id limit 1)",
+            nativeQuery = true)
+    List<BookingShort> findLastAndNextApprovedBookingsOfItem(@Param("itemId") Long itemId,
+                                                             @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("select b from Booking b join fetch b.item i where i.owner.id = :ownerId order by b.start desc")
+    List<Booking> findAllByItem_OwnerIdOrderByStartDesc(@Param("ownerId") Long ownerId, PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item i where i.owner.id = :ownerId " +
+            "and b.start < :currentTimeForStart and b.end > :currentTimeForEnd order by b.start desc")
+    List<Booking> findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(@Param("ownerId") Long ownerId,
+            @Param("currentTimeForStart") LocalDateTime currentTimeForStart,
+            @Param("currentTimeForEnd") LocalDateTime currentTimeForEnd, PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item i where i.owner.id = :ownerId and b.end < :now " +
+            "order by b.start desc")
+    List<Booking> findAllByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(@Param("ownerId") long ownerId,
+                                                                      @Param("now") LocalDateTime now, PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item i where i.owner.id = :ownerId and b.start > :currentTime " +
+            "order by b.start desc")
+    List<Booking> findAllByItem_OwnerIdAndStartIsAfterOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                       @Param("currentTime") LocalDateTime currentTime,
+                                                                       PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item i where i.owner.id = :ownerId and b.status = :status " +
+            "order by b.start desc")
+    List<Booking> findAllByItem_OwnerIdAndStatusOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                 @Param("status") Status bookingStatus, PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item where b.booker.id = :bookerId order by b.start desc")
+    List<Booking> findAllByBookerIdOrderByStartDesc(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.item.id = :itemId " +
+            "and b.status = :status and b.end < :currentTime")
+    List<Booking> findAllByBookerIdAndItem_IdAndStatusAndEndIsBefore(@Param("bookerId") Long bookerId,
+                                                                     @Param("itemId") Long itemId,
+                                                                     @Param("status") Status bookingStatus,
+                                                                     @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("select b from Booking b join fetch b.item where b.booker.id = :bookerId and b.start > :currentDate " +
+            "order by b.start desc")
+    List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                   @Param("currentDate") LocalDateTime currentDate,
+                                                                   PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item where b.booker.id = :bookerId and b.end < :currentDate " +
+            "order by b.start desc")
+    List<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                  @Param("currentDate") LocalDateTime currentDate,
+                                                                  PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item where b.booker.id = :bookerId " +
+            "and b.start < :currentTimeForStart and b.end > :currentTimeForEnd order by b.start")
+    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStart(@Param("bookerId") Long bookerId,
+            @Param("currentTimeForStart") LocalDateTime currentTimeForStart,
+            @Param("currentTimeForEnd") LocalDateTime currentTimeForEnd, PageRequest of);
+
+    @Query("select b from Booking b join fetch b.item where b.booker.id = :bookerId and b.status = :status " +
+            "order by b.start desc")
+    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                             @Param("status") Status bookingStatus, PageRequest of);
+
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses")
+    List<BookingPeriod> findAllByItemIdAndStatusIn(@Param("itemId") Long itemId,
+                                                   @Param("statuses") Collection<Status> statuses);
 }
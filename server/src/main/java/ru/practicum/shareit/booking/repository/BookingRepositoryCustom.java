@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<Booking> findBookerPageAfter(Long bookerId, String state, LocalDateTime currentTime,
+                                      BookingCursor cursor, int size);
+
+    List<Booking> findOwnerPageAfter(Long ownerId, String state, LocalDateTime currentTime,
+                                     BookingCursor cursor, int size);
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exceptions.WrongRequestException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerPageAfter(Long bookerId, String state, LocalDateTime currentTime,
+                                             BookingCursor cursor, int size) {
+        // Текущие бронирования арендатора, как и в постраничном режиме, идут по возрастанию начала
+        return findPageAfter("b.booker.id", bookerId, state, "CURRENT".equals(state), currentTime, cursor, size);
+    }
+
+    @Override
+    public List<Booking> findOwnerPageAfter(Long ownerId, String state, LocalDateTime currentTime,
+                                            BookingCursor cursor, int size) {
+        return findPageAfter("i.owner.id", ownerId, state, false, currentTime, cursor, size);
+    }
+
+    private List<Booking> findPageAfter(String userPath, Long userId, String state, boolean ascending,
+                                        LocalDateTime currentTime, BookingCursor cursor, int size) {
+        StringBuilder jpql = new StringBuilder("select b from Booking b join fetch b.item i where ")
+                .append(userPath).append(" = :userId");
+        Status status = null;
+        boolean timeBound = true;
+        switch (state) {
+            case "ALL":
+                timeBound = false;
+                break;
+            case "CURRENT":
+                jpql.append(" and b.start < :currentTime and b.end > :currentTime");
+                break;
+            case "PAST":
+                jpql.append(" and b.end < :currentTime");
+                break;
+            case "FUTURE":
+                jpql.append(" and b.start > :currentTime");
+                break;
+            case "WAITING":
+                status = Status.WAITING;
+                break;
+            case "REJECTED":
+                status = Status.REJECTED;
+                break;
+            default:
+                throw new WrongRequestException("Unknown state: UNSUPPORTED_STATUS");
+        }
+        if (status != null) {
+            timeBound = false;
+            jpql.append(" and b.status = :status");
+        }
+        String after = ascending ? ">" : "<";
+        if (cursor != null)
+            jpql.append(" and (b.start ").append(after).append(" :cursorStart or (b.start = :cursorStart and b.id ")
+                    .append(after).append(" :cursorId))");
+        jpql.append(ascending ? " order by b.start, b.id" : " order by b.start desc, b.id desc");
+
+        TypedQuery<Booking> query = entityManager.createQuery(jpql.toString(), Booking.class)
+                .setParameter("userId", userId)
+                .setMaxResults(size);
+        if (timeBound)
+            query.setParameter("currentTime", currentTime);
+        if (status != null)
+            query.setParameter("status", status);
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.getStart());
+            query.setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
+    }
+}
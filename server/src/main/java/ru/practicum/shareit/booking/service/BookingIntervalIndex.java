@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Индекс интервалов бронирований в статусах WAITING и APPROVED по каждой вещи.
+ * Интервалы вещи загружаются из базы при первом обращении и вытесняются по LRU,
+ * поэтому проверка пересечения при создании бронирования не сканирует таблицу bookings.
+ * Загрузка, проверка и изменение интервалов вещи идут под блокировкой вещи (underItemLock),
+ * так что бронь, сохранённая во время загрузки, не теряется. Индекс живёт в одном процессе и не видит
+ * изменений других экземпляров сервера: найденное пересечение перед отказом перепроверяется по базе,
+ * а пропущенное пересечение отсекает ограничение bookings_no_overlap в PostgreSQL.
+ */
+@Component
+public class BookingIntervalIndex {
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemIntervals> items;
+    private final ReentrantLock[] itemLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.interval-index.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.items = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemIntervals> eldest) {
+                return size() > maxItems;
+            }
+        };
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            itemLocks[i] = new ReentrantLock();
+    }
+
+    public <T> T underItemLock(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = itemLocks[Math.floorMod(itemId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return underItemLock(itemId, () -> {
+            ItemIntervals cached = find(itemId);
+            if (cached != null && !cached.overlaps(start, end))
+                return false;
+            // Бронь в кэше могли отклонить или удалить на другом экземпляре: без перезагрузки
+            // вещь отвечала бы ложным пересечением, пока её не вытеснит LRU
+            return load(itemId).overlaps(start, end);
+        });
+    }
+
+    public void add(Booking booking) {
+        if (!ACTIVE_STATUSES.contains(booking.getStatus()))
+            return;
+        underItemLock(booking.getItem().getId(), () -> {
+            ItemIntervals intervals = find(booking.getItem().getId());
+            if (intervals != null)
+                intervals.add(booking.getId(), booking.getStart(), booking.getEnd());
+            return null;
+        });
+    }
+
+    public void remove(Long itemId, Long bookingId) {
+        underItemLock(itemId, () -> {
+            ItemIntervals intervals = find(itemId);
+            if (intervals != null)
+                intervals.remove(bookingId);
+            return null;
+        });
+    }
+
+    public synchronized void evict(Long itemId) {
+        items.remove(itemId);
+    }
+
+    private synchronized ItemIntervals find(Long itemId) {
+        return items.get(itemId);
+    }
+
+    private ItemIntervals load(Long itemId) {
+        ItemIntervals loaded = new ItemIntervals();
+        for (BookingPeriod period : bookingRepository.findAllByItemIdAndStatusIn(itemId, ACTIVE_STATUSES))
+            loaded.add(period.getId(), period.getStart(), period.getEnd());
+        synchronized (this) {
+            items.put(itemId, loaded);
+        }
+        return loaded;
+    }
+
+    private static final class Interval {
+        private static final Comparator<Interval> ORDER = Comparator
+                .comparing((Interval interval) -> interval.start)
+                .thenComparingLong(interval -> interval.bookingId);
+
+        private final long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class ItemIntervals {
+        private final NavigableSet<Interval> byStart = new TreeSet<>(Interval.ORDER);
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+        private Duration maxDuration = Duration.ZERO;
+
+        synchronized void add(long bookingId, LocalDateTime start, LocalDateTime end) {
+            remove(bookingId);
+            Interval interval = new Interval(bookingId, start, end);
+            byStart.add(interval);
+            byBookingId.put(bookingId, interval);
+            Duration duration = Duration.between(start, end);
+            if (duration.compareTo(maxDuration) > 0)
+                maxDuration = duration;
+        }
+
+        synchronized void remove(long bookingId) {
+            Interval interval = byBookingId.remove(bookingId);
+            if (interval != null)
+                byStart.remove(interval);
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Interval from = new Interval(Long.MIN_VALUE, start.minus(maxDuration), null);
+            Interval to = new Interval(Long.MIN_VALUE, end, null);
+            for (Interval interval : byStart.subSet(from, true, to, false)) {
+                if (interval.end.isAfter(start))
+                    return true;
+            }
+            return false;
+        }
+    }
+}
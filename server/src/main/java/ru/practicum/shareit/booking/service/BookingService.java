@@ -15,5 +15,9 @@ public interface BookingService {
 
     List<BookingDto> getAllBookingsByOwner(Long userId, String state, Integer from, Integer size);
 
+    List<BookingDto> getBookingsPageByBooker(Long userId, String state, String cursor, Integer size);
+
+    List<BookingDto> getBookingsPageByOwner(Long userId, String state, String cursor, Integer size);
+
     void delete(Long id);
 }
@@ -1,15 +1,21 @@
 package ru.practicum.shareit.booking.service;
 
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.WrongRequestException;
+import ru.practicum.shareit.invalidation.CacheInvalidation;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -17,18 +23,27 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class BookingServiceImpl implements BookingService {
+    private static final String OVERLAP_MESSAGE = "Вещь уже забронирована на это время";
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BookingServiceImpl(UserRepository userRepository, ItemRepository itemRepository,
-                              BookingRepository bookingRepository) {
+                              BookingRepository bookingRepository, BookingIntervalIndex bookingIntervalIndex,
+                              ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -42,7 +57,14 @@ public class BookingServiceImpl implements BookingService {
         bookingDto.setStatus(Status.WAITING);
         Booking booking = BookingMapper.toBooking(bookingDto, booker, item);
         bookingDateValidation(booking);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking created = bookingIntervalIndex.underItemLock(item.getId(), () -> {
+            if (bookingIntervalIndex.hasOverlap(item.getId(), booking.getStart(), booking.getEnd()))
+                throw new WrongRequestException(OVERLAP_MESSAGE);
+            Booking saved = save(booking);
+            bookingIntervalIndex.add(saved);
+            return saved;
+        });
+        return BookingMapper.toBookingDto(created);
     }
 
     @Override
@@ -54,11 +76,18 @@ public class BookingServiceImpl implements BookingService {
         if (owner.getId().equals(booking.getItem().getOwner().getId())) {
             if (booking.getStatus().equals(Status.APPROVED))
                 throw new WrongRequestException("Бронирование было подтерждено ранее");
-            if (approved)
-                booking.setStatus(Status.APPROVED);
-            else
-                booking.setStatus(Status.REJECTED);
-            return BookingMapper.toBookingDto(bookingRepository.save(booking));
+            if (booking.getStatus() != Status.WAITING)
+                throw new WrongRequestException("Бронирование в статусе " + booking.getStatus() + " нельзя рассмотреть");
+            Status status = approved ? Status.APPROVED : Status.REJECTED;
+            BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+            // Из нескольких одновременных подтверждений или отклонений статус меняет только первое
+            if (bookingRepository.updateStatus(booking.getId(), Status.WAITING, status) == 0)
+                throw new ConflictException("Бронирование уже рассмотрено другим запросом");
+            bookingDto.setStatus(status);
+            if (status == Status.REJECTED)
+                bookingIntervalIndex.remove(booking.getItem().getId(), booking.getId());
+            eventPublisher.publishEvent(CacheInvalidation.items(bookingDto.getItem().getId()));
+            return bookingDto;
         } else
             throw new NotFoundException("Пользователь не является владельцем вещи");
     }
@@ -78,7 +107,7 @@ public class BookingServiceImpl implements BookingService {
         userRepository.findByUserId(userId);
         LocalDateTime time = LocalDateTime.now();
         List<Booking> bookingList;
-        PageRequest request = PageRequest.of(from, size);
+        PageRequest request = PageRequest.of(from / size, size);
         switch (state) {
             case "ALL":
                 bookingList = bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(userId, request);
@@ -107,9 +136,28 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.toBookingDtoList(bookingList);
     }
 
+    @Override
+    public List<BookingDto> getBookingsPageByBooker(Long userId, String state, String cursor, Integer size) {
+        userRepository.findByUserId(userId);
+        return BookingMapper.toBookingDtoList(bookingRepository
+                .findBookerPageAfter(userId, state, LocalDateTime.now(), BookingCursor.decode(cursor), size));
+    }
+
+    @Override
+    public List<BookingDto> getBookingsPageByOwner(Long userId, String state, String cursor, Integer size) {
+        userRepository.findByUserId(userId);
+        return BookingMapper.toBookingDtoList(bookingRepository
+                .findOwnerPageAfter(userId, state, LocalDateTime.now(), BookingCursor.decode(cursor), size));
+    }
+
     @Override
     public void delete(Long id) {
+        Optional<Booking> booking = bookingRepository.findById(id);
         bookingRepository.deleteById(id);
+        booking.ifPresent(deleted -> {
+            bookingIntervalIndex.remove(deleted.getItem().getId(), id);
+            eventPublisher.publishEvent(CacheInvalidation.items(deleted.getItem().getId()));
+        });
     }
 
     @Override
@@ -267,6 +315,18 @@ public class BookingServiceImpl implements BookingService {
 //        return BookingMapper.toBookingDtoList(result);
 //    }
 
+    private Booking save(Booking booking) {
+        try {
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            // Пересечение, которое другой экземпляр сервера успел сохранить в обход нашего индекса
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (cause != null && cause.contains(OVERLAP_CONSTRAINT))
+                throw new WrongRequestException(OVERLAP_MESSAGE);
+            throw e;
+        }
+    }
+
     private void bookingDateValidation(Booking booking) {
         if (booking.getStart().isAfter(booking.getEnd()))
             throw new WrongRequestException("Время начала бронирования после времени окончания");
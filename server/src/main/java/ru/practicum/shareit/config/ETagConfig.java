@@ -0,0 +1,24 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Слабые ETag для GET-ответов ресурсов и списков: хеш тела ответа. На совпавший If-None-Match сервер
+ * отвечает 304 без тела. Поток /internal/invalidations фильтр не затрагивает.
+ */
+@Configuration
+public class ETagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> eTagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items", "/items/*", "/users", "/users/*",
+                "/bookings", "/bookings/*", "/requests", "/requests/*");
+        return registration;
+    }
+}
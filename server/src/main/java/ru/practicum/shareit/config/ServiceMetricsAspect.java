@@ -0,0 +1,54 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Таймер shareit.service на каждый метод сервисов с тегами service, operation, outcome и exception.
+ * Сами сервисы не транзакционны: каждый вызов репозитория коммитится в своей транзакции внутри метода,
+ * поэтому время включает все обращения к базе, а их ошибки попадают в outcome=error.
+ * Выполняется внутри спана TracingAspect, поэтому таймер и спан сервиса охватывают одно и то же.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceMetricsAspect {
+    private static final String METRIC_NAME = "shareit.service";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * ru.practicum.shareit.*.service.*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Service method execution time")
+                    .tag("service", serviceName(joinPoint.getSignature().getDeclaringType()))
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", exception.equals("none") ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    private static String serviceName(Class<?> type) {
+        String name = type.getSimpleName();
+        return name.endsWith("Impl") ? name.substring(0, name.length() - "Impl".length()) : name;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Профиль virtual-threads на сервере: запросы переводит на виртуальные потоки VirtualThreadsWebConfig,
+ * а чтобы тысячи таких потоков не штурмовали пул соединений, DataSource оборачивается в
+ * ConcurrencyLimitedDataSource с лимитом shareit.jdbc.max-concurrency.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            @Value("${shareit.jdbc.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${shareit.jdbc.acquire-timeout:30s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConcurrencyLimitedDataSource))
+                    return new ConcurrencyLimitedDataSource((DataSource) bean, maxConcurrency, acquireTimeout);
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> dataSource.ifAvailable(available -> {
+            if (available instanceof ConcurrencyLimitedDataSource) {
+                ConcurrencyLimitedDataSource limited = (ConcurrencyLimitedDataSource) available;
+                Gauge.builder("shareit.jdbc.limiter.available", limited, ConcurrencyLimitedDataSource::availablePermits)
+                        .description("Permits left for new database connections")
+                        .register(registry);
+                Gauge.builder("shareit.jdbc.limiter.waiting", limited, ConcurrencyLimitedDataSource::queueLength)
+                        .description("Threads waiting for a database connection permit")
+                        .register(registry);
+            }
+        });
+    }
+}
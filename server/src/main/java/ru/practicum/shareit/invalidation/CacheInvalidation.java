@@ -0,0 +1,31 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.Value;
+
+/**
+ * Событие об изменении ресурса, закешированного шлюзом. Публикуется сервисами через ApplicationEventPublisher
+ * после записи в базу и передаётся шлюзу в виде строки resource:id.
+ */
+@Value
+public class CacheInvalidation {
+    public static final String HEADER = "X-Cache-Invalidate";
+
+    String resource;
+    Long id;
+
+    public static CacheInvalidation items(Long itemId) {
+        return new CacheInvalidation("items", itemId);
+    }
+
+    public static CacheInvalidation users(Long userId) {
+        return new CacheInvalidation("users", userId);
+    }
+
+    public static CacheInvalidation requests(Long requestId) {
+        return new CacheInvalidation("requests", requestId);
+    }
+
+    public String toWireFormat() {
+        return resource + ":" + id;
+    }
+}
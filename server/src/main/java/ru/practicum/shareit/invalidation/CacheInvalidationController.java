@@ -0,0 +1,106 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Доставляет события CacheInvalidation шлюзам: всем подписчикам потока /internal/invalidations
+ * и, в заголовке X-Cache-Invalidate, шлюзу, который проксировал изменивший данные запрос.
+ * Заголовок позволяет шлюзу сбросить кеш до того, как клиент получит ответ на запись.
+ * В поток события отправляет отдельный поток из ограниченной очереди подписчика, а не поток записи.
+ * Подписчик с переполненной очередью отключается: шлюз при обрыве сам очищает кеш и переподключается.
+ */
+@Slf4j
+@RestController
+public class CacheInvalidationController {
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int queueCapacity;
+
+    public CacheInvalidationController(@Value("${shareit.invalidation.queue-capacity:1000}") int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    @GetMapping(path = "/internal/invalidations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.send(SseEmitter.event().comment("subscribed"));
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void publish(CacheInvalidation invalidation) {
+        String value = invalidation.toWireFormat();
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted())
+                response.addHeader(CacheInvalidation.HEADER, value);
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.events.offer(value)) {
+                log.warn("Invalidation subscriber is too slow, {} events queued, disconnecting", queueCapacity);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            } else if (subscriber.scheduled.compareAndSet(false, true)) {
+                sender.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void drain(Subscriber subscriber) {
+        subscriber.scheduled.set(false);
+        for (String value = subscriber.events.poll(); value != null; value = subscriber.events.poll()) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().data(value));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Invalidation subscriber is gone", e);
+                subscribers.remove(subscriber);
+                return;
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> events;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.events = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -53,8 +53,10 @@ public class ItemController {
     }
 
     @GetMapping(value = "/search")
-    public List<ItemDto> findItemForRental(@RequestParam String text) {
-        return itemService.findItemForRental(text);
+    public List<ItemDto> findItemForRental(@RequestParam String text,
+                                           @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                           @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        return itemService.findItemForRental(text, from, size);
     }
 
     @DeleteMapping("/{itemId}")
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public interface ItemCommentRow {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+
+    Long getCommentId();
+
+    String getCommentText();
+
+    LocalDateTime getCommentCreated();
+
+    Long getAuthorId();
+
+    String getAuthorName();
+}
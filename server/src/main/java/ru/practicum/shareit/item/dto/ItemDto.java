@@ -3,12 +3,7 @@ package ru.practicum.shareit.item.dto;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.mapper.CommentMapper;
-import ru.practicum.shareit.item.model.Comment;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -27,21 +22,4 @@ public class ItemDto {
         this.id = id;
         this.name = name;
     }
-
-    public void setNextBooking(Booking booking) {
-        this.nextBooking = BookingMapper.toBookingDtoShort(booking);
-    }
-
-    public void setLastBooking(Booking booking) {
-        this.lastBooking = BookingMapper.toBookingDtoShort(booking);
-    }
-
-    public void setComments(List<Comment> comments) {
-        List<CommentDto> commentDtoList = new ArrayList<>();
-        for (Comment comment : comments) {
-            CommentDto commentDto = CommentMapper.toCommentDto(comment);
-            commentDtoList.add(commentDto);
-        }
-        this.comments = commentDtoList;
-    }
 }
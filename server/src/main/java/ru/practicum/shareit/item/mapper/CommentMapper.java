@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentRow;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -17,6 +18,17 @@ public class CommentMapper {
         return commentDto;
     }
 
+    public static CommentDto toCommentDto(ItemCommentRow row) {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setId(row.getCommentId());
+        commentDto.setAuthorName(row.getAuthorName());
+        commentDto.setCreated(row.getCommentCreated());
+        commentDto.setText(row.getCommentText());
+        commentDto.setItemId(row.getId());
+        commentDto.setUserId(row.getAuthorId());
+        return commentDto;
+    }
+
     public static Comment toComment(CommentDto commentDto, User user, Item item) {
         Comment comment = new Comment();
         comment.setCreated(commentDto.getCreated());
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.item.mapper;
 
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentRow;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ItemMapper {
 
@@ -21,6 +28,16 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto toItemDto(ItemCommentRow row) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(row.getId());
+        itemDto.setName(row.getName());
+        itemDto.setDescription(row.getDescription());
+        itemDto.setAvailable(row.getAvailable());
+        itemDto.setRequestId(row.getRequestId());
+        return itemDto;
+    }
+
     public static Item toItem(ItemDto itemDto, User user) {
         Item item = new Item();
         item.setId(itemDto.getId());
@@ -39,4 +56,32 @@ public class ItemMapper {
         }
         return itemDtoList;
     }
+
+    public static ItemDto toItemDtoWithComments(List<ItemCommentRow> rows) {
+        ItemDto itemDto = toItemDto(rows.get(0));
+        List<CommentDto> comments = new ArrayList<>(rows.size());
+        for (ItemCommentRow row : rows) {
+            if (row.getCommentId() != null)
+                comments.add(CommentMapper.toCommentDto(row));
+        }
+        itemDto.setComments(comments);
+        return itemDto;
+    }
+
+    public static List<ItemDto> toItemDtoListWithBookings(List<Item> items, List<BookingShort> bookings, LocalDateTime time) {
+        List<ItemDto> itemDtoList = toItemDtolist(items);
+        Map<Long, BookingShort> nextBookings = new HashMap<>();
+        Map<Long, BookingShort> lastBookings = new HashMap<>();
+        for (BookingShort booking : bookings) {
+            if (booking.getStart().isAfter(time))
+                nextBookings.put(booking.getItemId(), booking);
+            else
+                lastBookings.put(booking.getItemId(), booking);
+        }
+        for (ItemDto itemDto : itemDtoList) {
+            itemDto.setNextBooking(BookingMapper.toBookingDtoShort(nextBookings.get(itemDto.getId())));
+            itemDto.setLastBooking(BookingMapper.toBookingDtoShort(lastBookings.get(itemDto.getId())));
+        }
+        return itemDtoList;
+    }
 }
@@ -2,10 +2,12 @@ package ru.practicum.shareit.item.repository;
 
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemCommentRow;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
 
@@ -15,10 +17,34 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerIdOrderById(Long owner, PageRequest of);
 
     @Query("select i from Item i " +
-            "where lower(i.name) like lower(concat('%', :search, '%')) " +
-            "or lower(i.description) like lower(concat('%', :search, '%')) " +
-            "and i.available = true")
-    List<Item> findItemForRental(@Param("search") String text);
+            "where (lower(i.name) like lower(concat('%', :search, '%')) " +
+            "or lower(i.description) like lower(concat('%', :search, '%'))) " +
+            "and i.available = true " +
+            "order by case when lower(i.name) like lower(concat('%', :search, '%')) then 0 else 1 end, i.id")
+    List<Item> findItemForRental(@Param("search") String text, Pageable pageable);
+
+    @Query(value = "select i.id from items i " +
+            "where i.is_available " +
+            "and (i.search_vector @@ plainto_tsquery('simple', :search) " +
+            "or lower(i.name) like lower(concat('%', :search, '%')) " +
+            "or lower(i.description) like lower(concat('%', :search, '%'))) " +
+            "order by case when lower(i.name) like lower(concat('%', :search, '%')) then 0 else 1 end, " +
+            "ts_rank(i.search_vector, plainto_tsquery('simple', :search)) desc, i.id",
+            nativeQuery = true)
+    List<Long> findAvailableItemIdsByFullText(@Param("search") String text, Pageable pageable);
+
+    List<Item> findAllByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "i.owner.id as ownerId, r.id as requestId, c.id as commentId, c.text as commentText, " +
+            "c.created as commentCreated, u.id as authorId, u.name as authorName " +
+            "from Item i " +
+            "left join i.request r " +
+            "left join Comment c on c.item = i " +
+            "left join c.user u " +
+            "where i.id = :itemId " +
+            "order by c.id")
+    List<ItemCommentRow> findItemWithComments(@Param("itemId") Long itemId);
 
     List<Item> findItemByRequestIn(List<Request> requestList);
 
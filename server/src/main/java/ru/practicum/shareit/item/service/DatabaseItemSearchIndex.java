@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Индекс по умолчанию вне профиля postgres: ничего не хранит, и все запросы поиска идут через базу.
+ */
+@Component
+@Profile("!postgres")
+@ConditionalOnProperty(name = "shareit.item.search.in-memory.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseItemSearchIndex implements ItemSearchIndex {
+
+    @Override
+    public boolean canSearch(String text) {
+        return false;
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        return List.of();
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+}
@@ -0,0 +1,503 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Инвертированный индекс доступных вещей по триграммам названия и описания.
+ * Каждая запись вещи получает новый номер документа, поэтому списки документов триграмм только дописываются
+ * в конец и остаются отсортированными массивами int; прежний документ вещи помечается удалённым, а когда
+ * удалённых становится больше живых, индекс пересобирается в новый сегмент.
+ * Кандидаты — пересечение списков всех триграмм запроса начиная с самого короткого, затем вхождение
+ * проверяется по тексту. Запросы короче трёх символов индекс не обслуживает, они идут через базу.
+ * Поиск не берёт блокировок: изменения сериализуются между собой и публикуются через volatile-размеры массивов.
+ * Результаты упорядочены по релевантности: сначала число вхождений в название, затем в описание;
+ * страница собирается в куче ограниченного размера, без сортировки всех совпадений.
+ * Для частых слов просматривается не больше shareit.item.search.max-candidates живых кандидатов,
+ * и релевантность считается только среди них: время поиска ограничено ценой неполной выдачи.
+ * Индекс заполняется после старта приложения в общем пуле задач Spring; пока он не готов, поиск идёт через базу.
+ * Индекс держит в куче весь текст доступных вещей, поэтому включается явно: shareit.item.search.in-memory.enabled=true.
+ */
+@Slf4j
+@Component
+@Profile("!postgres")
+@ConditionalOnProperty(name = "shareit.item.search.in-memory.enabled", havingValue = "true")
+public class InMemoryItemSearchIndex implements ItemSearchIndex {
+    static final int MIN_QUERY_LENGTH = 3;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final ItemRepository itemRepository;
+    private final TaskExecutor taskExecutor;
+    private final int warmUpBatchSize;
+    private final int maxCandidates;
+    private final Object writeLock = new Object();
+    private final LongIntMap documentsByItemId = new LongIntMap();
+    private final Set<Long> changedDuringWarmUp = new HashSet<>();
+    private volatile Segment segment = new Segment();
+    private volatile boolean ready;
+
+    public InMemoryItemSearchIndex(ItemRepository itemRepository, TaskExecutor taskExecutor,
+                                   @Value("${shareit.item.search.warm-up-batch-size:1000}") int warmUpBatchSize,
+                                   @Value("${shareit.item.search.max-candidates:10000}") int maxCandidates) {
+        this.itemRepository = itemRepository;
+        this.taskExecutor = taskExecutor;
+        this.warmUpBatchSize = warmUpBatchSize;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        taskExecutor.execute(this::warmUp);
+    }
+
+    void warmUp() {
+        try {
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, warmUpBatchSize));
+                synchronized (writeLock) {
+                    for (Item item : batch) {
+                        if (!changedDuringWarmUp.contains(item.getId()))
+                            put(item);
+                    }
+                }
+                if (!batch.isEmpty())
+                    lastId = batch.get(batch.size() - 1).getId();
+            } while (batch.size() == warmUpBatchSize);
+            synchronized (writeLock) {
+                changedDuringWarmUp.clear();
+                ready = true;
+                log.info("Item search index is ready: {} items", documentsByItemId.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Item search index warm-up failed, search stays on database", e);
+        }
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean canSearch(String text) {
+        return ready && text.length() >= MIN_QUERY_LENGTH;
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        String query = text.toLowerCase(Locale.ROOT);
+        if (query.length() < MIN_QUERY_LENGTH)
+            return List.of();
+        int offset = (int) pageable.getOffset();
+        int limit = offset + pageable.getPageSize();
+        Segment current = segment;
+        PriorityQueue<Match> top = new PriorityQueue<>(Match.RELEVANCE.reversed());
+        Candidates candidates = current.candidates(query);
+        Document[] documents = current.documents;
+        int scanned = 0;
+        for (int documentId = candidates.next(); documentId >= 0 && scanned < maxCandidates;
+             documentId = candidates.next()) {
+            Document document = documents[documentId];
+            if (document == null)
+                continue;
+            scanned++;
+            Match worst = top.size() < limit ? null : top.peek();
+            // Без триграмм запроса в названии вещь не обгонит худшую из найденных с совпадением в названии
+            if (worst != null && worst.nameHits > 0 && !candidates.inName())
+                continue;
+            Match match = document.match(query, candidates.inName(), worst);
+            if (match == null)
+                continue;
+            if (worst != null)
+                top.poll();
+            top.add(match);
+        }
+        List<Match> ordered = new ArrayList<>(top);
+        ordered.sort(Match.RELEVANCE);
+        List<Long> page = new ArrayList<>();
+        for (int i = offset; i < ordered.size(); i++)
+            page.add(ordered.get(i).itemId);
+        return page;
+    }
+
+    @Override
+    public void index(Item item) {
+        synchronized (writeLock) {
+            if (!ready)
+                changedDuringWarmUp.add(item.getId());
+            delete(item.getId());
+            put(item);
+        }
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        synchronized (writeLock) {
+            if (!ready)
+                changedDuringWarmUp.add(itemId);
+            delete(itemId);
+        }
+    }
+
+    private void put(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable()))
+            return;
+        Document document = new Document(item.getId(), item.getName(), item.getDescription());
+        documentsByItemId.put(item.getId(), segment.append(document));
+    }
+
+    private void delete(Long itemId) {
+        int documentId = documentsByItemId.remove(itemId);
+        if (documentId < 0)
+            return;
+        Segment current = segment;
+        current.kill(documentId);
+        if (current.dead >= MIN_DEAD_TO_COMPACT && current.dead > documentsByItemId.size())
+            compact(current);
+    }
+
+    private void compact(Segment current) {
+        Segment compacted = new Segment();
+        documentsByItemId.clear();
+        for (int documentId = 0; documentId < current.size; documentId++) {
+            Document document = current.documents[documentId];
+            if (document != null)
+                documentsByItemId.put(document.itemId, compacted.append(document));
+        }
+        segment = compacted;
+        log.debug("Item search index compacted: {} dead documents dropped", current.dead);
+    }
+
+    private static final class Segment {
+        private final Map<Long, Postings> postings = new ConcurrentHashMap<>();
+        private volatile Document[] documents = new Document[1024];
+        private volatile int size;
+        private int dead;
+
+        private int append(Document document) {
+            Document[] array = documents;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+                documents = array;
+            }
+            int documentId = size;
+            array[documentId] = document;
+            size = documentId + 1;
+            long[] nameGrams = trigrams(document.name);
+            for (long gram : document.grams(nameGrams)) {
+                boolean inName = Arrays.binarySearch(nameGrams, gram) >= 0;
+                postings.computeIfAbsent(gram, key -> new Postings()).add(documentId, inName);
+            }
+            return documentId;
+        }
+
+        private void kill(int documentId) {
+            documents[documentId] = null;
+            dead++;
+        }
+
+        private Candidates candidates(String query) {
+            long[] grams = trigrams(query);
+            int[][] lists = new int[grams.length][];
+            int[] sizes = new int[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                Postings gramPostings = postings.get(grams[i]);
+                if (gramPostings == null)
+                    return Candidates.EMPTY;
+                sizes[i] = gramPostings.size;
+                lists[i] = gramPostings.entries;
+            }
+            return new Candidates(lists, sizes);
+        }
+    }
+
+    /**
+     * Отсортированный по возрастанию список документов триграммы; младший бит отмечает триграмму в названии.
+     * Пишет только один поток под writeLock; читатель сначала читает размер, затем массив,
+     * и видит все элементы до прочитанного размера.
+     */
+    private static final class Postings {
+        private volatile int[] entries = new int[4];
+        private volatile int size;
+
+        private void add(int documentId, boolean inName) {
+            int[] array = entries;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, array.length + (array.length >> 1));
+                entries = array;
+            }
+            array[size] = documentId << 1 | (inName ? 1 : 0);
+            size = size + 1;
+        }
+    }
+
+    /**
+     * Пересечение отсортированных списков методом leapfrog: списки обходятся по кругу от самого короткого,
+     * каждый галопирующим поиском догоняет текущего кандидата или отодвигает его вперёд.
+     */
+    private static final class Candidates {
+        private static final Candidates EMPTY = new Candidates(new int[0][], new int[0]);
+
+        private final int[][] lists;
+        private final int[] sizes;
+        private final int[] positions;
+        private int from;
+        private boolean inName;
+
+        private Candidates(int[][] lists, int[] sizes) {
+            Integer[] order = new Integer[lists.length];
+            for (int i = 0; i < order.length; i++)
+                order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> sizes[i]));
+            this.lists = new int[lists.length][];
+            this.sizes = new int[lists.length];
+            for (int i = 0; i < order.length; i++) {
+                this.lists[i] = lists[order[i]];
+                this.sizes[i] = sizes[order[i]];
+            }
+            this.positions = new int[lists.length];
+        }
+
+        private int next() {
+            if (lists.length == 0 || from < 0)
+                return -1;
+            int target = from;
+            int agreed = 0;
+            for (int list = 0; agreed < lists.length; list = (list + 1) % lists.length) {
+                int found = seek(list, target);
+                if (found < 0) {
+                    from = -1;
+                    return -1;
+                }
+                if (found == target) {
+                    agreed++;
+                } else {
+                    target = found;
+                    agreed = 1;
+                }
+            }
+            inName = true;
+            for (int list = 0; list < lists.length; list++)
+                inName &= (lists[list][positions[list]] & 1) == 1;
+            from = target + 1;
+            return target;
+        }
+
+        /**
+         * Все ли триграммы запроса встречаются в названии последнего найденного документа.
+         */
+        private boolean inName() {
+            return inName;
+        }
+
+        private int seek(int list, int documentId) {
+            int[] entries = lists[list];
+            int size = sizes[list];
+            int low = positions[list];
+            int step = 1;
+            int high = low;
+            while (high < size && entries[high] >>> 1 < documentId) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle] >>> 1 < documentId)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            positions[list] = low;
+            return low < size ? entries[low] >>> 1 : -1;
+        }
+    }
+
+    private static final class Match {
+        private static final Comparator<Match> RELEVANCE = Comparator
+                .comparingInt((Match match) -> match.nameHits).reversed()
+                .thenComparing(Comparator.comparingInt((Match match) -> match.descriptionHits).reversed())
+                .thenComparingLong(match -> match.itemId);
+
+        private final long itemId;
+        private final int nameHits;
+        private final int descriptionHits;
+
+        private Match(long itemId, int nameHits, int descriptionHits) {
+            this.itemId = itemId;
+            this.nameHits = nameHits;
+            this.descriptionHits = descriptionHits;
+        }
+
+        private boolean ranksBelow(int otherNameHits, int otherDescriptionHits, long otherItemId) {
+            if (nameHits != otherNameHits)
+                return nameHits < otherNameHits;
+            if (descriptionHits != otherDescriptionHits)
+                return descriptionHits < otherDescriptionHits;
+            return itemId > otherItemId;
+        }
+    }
+
+    private static final class Document {
+        private final long itemId;
+        private final String name;
+        private final String description;
+
+        private Document(long itemId, String name, String description) {
+            this.itemId = itemId;
+            this.name = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            this.description = description == null ? "" : description.toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Совпадение документа с запросом или null, если совпадения нет или оно не лучше worst.
+         * Описание не просматривается, когда по названию документ уже проигрывает худшему из найденных.
+         */
+        private Match match(String query, boolean inName, Match worst) {
+            int nameHits = inName ? countHits(name, query) : 0;
+            if (worst != null && nameHits < worst.nameHits)
+                return null;
+            int descriptionHits = countHits(description, query);
+            if (nameHits == 0 && descriptionHits == 0)
+                return null;
+            if (worst != null && !worst.ranksBelow(nameHits, descriptionHits, itemId))
+                return null;
+            return new Match(itemId, nameHits, descriptionHits);
+        }
+
+        private static int countHits(String text, String query) {
+            int hits = 0;
+            for (int from = text.indexOf(query); from >= 0; from = text.indexOf(query, from + query.length()))
+                hits++;
+            return hits;
+        }
+
+        private long[] grams(long[] nameGrams) {
+            long[] descriptionGrams = trigrams(description);
+            long[] grams = Arrays.copyOf(nameGrams, nameGrams.length + descriptionGrams.length);
+            System.arraycopy(descriptionGrams, 0, grams, nameGrams.length, descriptionGrams.length);
+            return distinct(grams);
+        }
+    }
+
+    private static long[] trigrams(String text) {
+        if (text.length() < MIN_QUERY_LENGTH)
+            return new long[0];
+        long[] grams = new long[text.length() - MIN_QUERY_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++)
+            grams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        return distinct(grams);
+    }
+
+    private static long[] distinct(long[] values) {
+        if (values.length == 0)
+            return values;
+        Arrays.sort(values);
+        int count = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[count - 1])
+                values[count++] = values[i];
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Номер текущего документа по id вещи без упаковки ключей: открытая адресация с линейным пробированием.
+     */
+    private static final class LongIntMap {
+        private static final long FREE = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(1024);
+        private int[] values = new int[1024];
+        private int size;
+
+        private int size() {
+            return size;
+        }
+
+        private void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length)
+                resize(keys.length * 2);
+            int slot = find(key);
+            if (keys[slot] == FREE) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        private int remove(long key) {
+            int slot = find(key);
+            if (keys[slot] == FREE)
+                return -1;
+            int value = values[slot];
+            keys[slot] = FREE;
+            size--;
+            // Сдвигаем следующую за удалённой цепочку, чтобы поиск не обрывался на пустой ячейке
+            int mask = keys.length - 1;
+            for (int next = (slot + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+                long moved = keys[next];
+                int movedValue = values[next];
+                keys[next] = FREE;
+                size--;
+                put(moved, movedValue);
+            }
+            return value;
+        }
+
+        private void clear() {
+            keys = newKeys(1024);
+            values = new int[1024];
+            size = 0;
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != FREE && keys[slot] != key)
+                slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE)
+                    put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+    }
+}
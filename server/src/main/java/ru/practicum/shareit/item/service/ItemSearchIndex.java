@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchIndex {
+    boolean canSearch(String text);
+
+    List<Long> search(String text, Pageable pageable);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+}
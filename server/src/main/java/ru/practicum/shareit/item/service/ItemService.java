@@ -16,7 +16,7 @@ public interface ItemService {
 
     ItemDto findItemById(Long userId, Long itemId);
 
-    List<ItemDto> findItemForRental(String text);
+    List<ItemDto> findItemForRental(String text, Integer from, Integer size);
 
     void delete(Long userId, Long itemId);
 
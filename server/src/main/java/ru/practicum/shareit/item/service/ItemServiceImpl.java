@@ -1,12 +1,18 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.WrongRequestException;
+import ru.practicum.shareit.invalidation.CacheInvalidation;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentRow;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -21,8 +27,10 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemServiceImpl implements ItemService {
@@ -31,15 +39,20 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ItemServiceImpl(UserRepository userRepository, ItemRepository itemRepository,
                            BookingRepository bookingRepository, CommentRepository commentRepository,
-                           RequestRepository requestRepository) {
+                           RequestRepository requestRepository, ItemSearchIndex itemSearchIndex,
+                           ApplicationEventPublisher eventPublisher) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.requestRepository = requestRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -50,7 +63,10 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getRequestId() != null)
             request = requestRepository.findById(itemDto.getRequestId()).orElse(new Request());
         item.setRequest(request);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item createdItem = itemRepository.save(item);
+        itemSearchIndex.index(createdItem);
+        publishItemChanged(createdItem.getId(), request);
+        return ItemMapper.toItemDto(createdItem);
     }
 
     @Override
@@ -66,7 +82,10 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemFromDb.getAvailable());
         item.setId(itemId);
         item.setOwner(userFromDb);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item updatedItem = itemRepository.save(item);
+        itemSearchIndex.index(updatedItem);
+        publishItemChanged(itemId, itemFromDb.getRequest());
+        return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
@@ -78,24 +97,42 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto findItemById(Long userId, Long itemId) {
-        Item item = itemRepository.findByItemId(itemId);
-        ItemDto itemDto = ItemMapper.toItemDto(itemRepository.findByItemId(itemId));
-        itemDto.setComments(commentRepository.getAllByItemId(itemId));
-        if (item.getOwner().getId().equals(userId)) {
+        List<ItemCommentRow> rows = itemRepository.findItemWithComments(itemId);
+        if (rows.isEmpty())
+            throw new NotFoundException("Вещь с id = " + itemId + " не найдена");
+        ItemDto itemDto = ItemMapper.toItemDtoWithComments(rows);
+        if (rows.get(0).getOwnerId().equals(userId)) {
             LocalDateTime time = LocalDateTime.now();
-            itemDto.setLastBooking(getLastBooking(itemId, time));
-            itemDto.setNextBooking(getNextBooking(itemId, time));
+            for (BookingShort booking : bookingRepository.findLastAndNextApprovedBookingsOfItem(itemId, time)) {
+                if (booking.getStart().isAfter(time))
+                    itemDto.setNextBooking(BookingMapper.toBookingDtoShort(booking));
+                else
+                    itemDto.setLastBooking(BookingMapper.toBookingDtoShort(booking));
+            }
         }
         return itemDto;
     }
 
     @Override
-    public List<ItemDto> findItemForRental(String text) {
+    public List<ItemDto> findItemForRental(String text, Integer from, Integer size) {
         List<ItemDto> listOfFoundItems = new ArrayList<>();
         if (text.isBlank())
             return listOfFoundItems;
-        for (Item item : itemRepository.findItemForRental(text))
-            listOfFoundItems.add(ItemMapper.toItemDto(item));
+        PageRequest page = PageRequest.of(from / size, size);
+        if (!itemSearchIndex.canSearch(text)) {
+            for (Item item : itemRepository.findItemForRental(text, page))
+                listOfFoundItems.add(ItemMapper.toItemDto(item));
+            return listOfFoundItems;
+        }
+        List<Long> itemIds = itemSearchIndex.search(text, page);
+        Map<Long, Item> itemsById = new HashMap<>();
+        for (Item item : itemRepository.findAllById(itemIds))
+            itemsById.put(item.getId(), item);
+        for (Long itemId : itemIds) {
+            Item item = itemsById.get(itemId);
+            if (item != null)
+                listOfFoundItems.add(ItemMapper.toItemDto(item));
+        }
         return listOfFoundItems;
     }
 
@@ -103,11 +140,13 @@ public class ItemServiceImpl implements ItemService {
     public void delete(Long userId, Long itemId) {
         User user = userRepository.findByUserId(userId);
         Item item = itemRepository.findByItemId(itemId);
-        if (user.getId().equals(item.getOwner().getId()))
+        if (user.getId().equals(item.getOwner().getId())) {
             itemRepository.deleteById(itemId);
-        else
+            itemSearchIndex.remove(itemId);
+            publishItemChanged(itemId, item.getRequest());
+        } else {
             throw new WrongRequestException("Пользователь с id: " + userId + " не является владельцем вещи с id: " + itemId);
-
+        }
     }
 
     @Override
@@ -122,33 +161,23 @@ public class ItemServiceImpl implements ItemService {
             throw new WrongRequestException("У пользователя с id: " + userId + " отсутствует бронирование для вещи с id: " + item.getId());
         else {
             Comment comment = commentRepository.save(CommentMapper.toComment(commentDto, user, item));
+            eventPublisher.publishEvent(CacheInvalidation.items(itemId));
             return CommentMapper.toCommentDto(comment);
         }
     }
 
-    private List<ItemDto> findItemDtoWithNextAndLastBookings(List<Item> itemList) {
-        List<Booking> nextBookings = bookingRepository
-                .findAllByStartAfterAndStatusAndItemInOrderByStartDesc(LocalDateTime.now(),
-                        Status.APPROVED, itemList);
-        List<Booking> lastBookings = bookingRepository
-                .findAllByEndBeforeAndStatusAndItemInOrderByStartDesc(LocalDateTime.now(),
-                        Status.APPROVED, itemList);
-        List<ItemDto> itemDtoList = new ArrayList<>();
-        itemList.stream().map(ItemMapper::toItemDto).forEach(itemDto -> {
-            nextBookings.stream().filter(nextBooking -> Objects.equals(nextBooking.getItem().getId(), itemDto.getId())).forEach(itemDto::setNextBooking);
-            lastBookings.stream().filter(lastBooking -> Objects.equals(lastBooking.getItem().getId(), itemDto.getId())).forEach(itemDto::setLastBooking);
-            itemDtoList.add(itemDto);
-        });
-        return itemDtoList;
+    private void publishItemChanged(Long itemId, Request request) {
+        eventPublisher.publishEvent(CacheInvalidation.items(itemId));
+        if (request != null && request.getId() != null)
+            eventPublisher.publishEvent(CacheInvalidation.requests(request.getId()));
     }
 
-    private Booking getLastBooking(Long itemId, LocalDateTime currentTime) {
-        return bookingRepository
-                .findFirstByItemIdAndStatusAndStartIsBeforeOrderByStartDesc(itemId, Status.APPROVED, currentTime);
-    }
-
-    private Booking getNextBooking(Long itemId, LocalDateTime currentTime) {
-        return bookingRepository
-                .findFirstByItemIdAndStatusAndStartIsAfterOrderByStart(itemId, Status.APPROVED, currentTime);
+    private List<ItemDto> findItemDtoWithNextAndLastBookings(List<Item> itemList) {
+        if (itemList.isEmpty())
+            return ItemMapper.toItemDtolist(itemList);
+        LocalDateTime time = LocalDateTime.now();
+        List<Long> itemIds = itemList.stream().map(Item::getId).collect(Collectors.toList());
+        return ItemMapper.toItemDtoListWithBookings(itemList,
+                bookingRepository.findLastAndNextApprovedBookings(itemIds, time), time);
     }
 }
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск вещей средствами PostgreSQL: генерируемая колонка items.search_vector с GIN-индексом
+ * для совпадений по словам и pg_trgm-индексы для поиска подстроки. Колонка пересчитывается базой,
+ * поэтому изменения вещей отдельно индексировать не нужно.
+ */
+@Component
+@Profile("postgres")
+public class PostgresItemSearchIndex implements ItemSearchIndex {
+    private final ItemRepository itemRepository;
+
+    public PostgresItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public boolean canSearch(String text) {
+        return true;
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        return itemRepository.findAvailableItemIdsByFullText(text, pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+}
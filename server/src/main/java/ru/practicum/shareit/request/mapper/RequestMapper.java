@@ -1,10 +1,15 @@
 package ru.practicum.shareit.request.mapper;
 
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RequestMapper {
     public static Request toRequest(RequestDto requestDto) {
@@ -34,4 +39,18 @@ public class RequestMapper {
         }
         return requestDtoList;
     }
+
+    public static List<RequestDto> toRequestDtoList(List<Request> requests, List<Item> items) {
+        Map<Long, List<ItemDto>> itemsByRequestId = new HashMap<>();
+        for (Item item : items)
+            itemsByRequestId.computeIfAbsent(item.getRequest().getId(), key -> new ArrayList<>())
+                    .add(ItemMapper.toItemDto(item));
+        List<RequestDto> requestDtoList = toRequestDtoList(requests);
+        for (RequestDto requestDto : requestDtoList) {
+            List<ItemDto> requestItems = itemsByRequestId.get(requestDto.getId());
+            if (requestItems != null)
+                requestDto.setItems(requestItems);
+        }
+        return requestDtoList;
+    }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.invalidation.CacheInvalidation;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -19,12 +21,14 @@ public class RequestServiceImpl implements RequestService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final RequestRepository requestRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RequestServiceImpl(UserRepository userRepository, ItemRepository itemRepository,
-                              RequestRepository requestRepository) {
+                              RequestRepository requestRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
         this.requestRepository = requestRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -64,17 +68,11 @@ public class RequestServiceImpl implements RequestService {
     public void delete(Long userId, Long requestId) {
         userRepository.findByUserId(userId);
         requestRepository.deleteById(requestId);
+        eventPublisher.publishEvent(CacheInvalidation.requests(requestId));
     }
 
     private List<RequestDto> getRequestDtoWithItems(List<Request> requests) {
-        List<RequestDto> requestDtoList = RequestMapper.toRequestDtoList(requests);
         List<Item> itemsWithRequestsId = itemRepository.findItemByRequestIn(requests);
-        for (RequestDto request : requestDtoList) {
-            for (Item item : itemsWithRequestsId) {
-                if (request.getId().equals(item.getRequest().getId()))
-                    request.getItems().add(ItemMapper.toItemDto(item));
-            }
-        }
-        return requestDtoList;
+        return RequestMapper.toRequestDtoList(requests, itemsWithRequestsId);
     }
 }
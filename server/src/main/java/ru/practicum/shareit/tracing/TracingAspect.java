@@ -0,0 +1,63 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Вложенные спаны контроллеров, сервисов и репозиториев внутри серверного спана запроса.
+ * Спан называется по интерфейсу или классу без суффикса Impl: UserService.create, UserRepository.save.
+ * Вне HTTP-запроса, например при прогреве поискового индекса, спаны не создаются.
+ * Самый внешний аспект: ServiceMetricsAspect и транзакции репозиториев выполняются внутри спанов.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * ru.practicum.shareit.*.controller.*Controller.*(..))"
+            + " || execution(public * ru.practicum.shareit.*.service.*Service.*(..))")
+    public Object traceComponent(ProceedingJoinPoint joinPoint) throws Throwable {
+        String type = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        if (type.endsWith("Impl"))
+            type = type.substring(0, type.length() - "Impl".length());
+        return trace(type + "." + joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String type = interfaces.length > 0 ? interfaces[0].getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return trace(type + "." + joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    private Object trace(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Span.current().getSpanContext().isValid())
+            return joinPoint.proceed();
+        Span span = tracer.spanBuilder(name).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Трассировка OpenTelemetry. Контекст трассы принимается от шлюза в заголовке traceparent (W3C Trace Context).
+ * Спаны отдаются всем бинам SpanExporter: в продакшене — OTLP (shareit.tracing.otlp.enabled), в тестах — в память.
+ */
+@Configuration
+public class TracingConfig {
+    private static final String INSTRUMENTATION_NAME = "ru.practicum.shareit.server";
+
+    @Bean
+    public SdkTracerProvider sdkTracerProvider(@Value("${spring.application.name:shareit-server}") String serviceName,
+                                               @Value("${shareit.tracing.sampling-ratio:1.0}") double samplingRatio,
+                                               ObjectProvider<SpanExporter> spanExporters) {
+        SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(
+                        Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingRatio)));
+        spanExporters.orderedStream()
+                .forEach(exporter -> builder.addSpanProcessor(BatchSpanProcessor.builder(exporter).build()));
+        return builder.build();
+    }
+
+    @Bean
+    public OpenTelemetry openTelemetry(SdkTracerProvider sdkTracerProvider) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(sdkTracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetry openTelemetry, Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(openTelemetry, tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.otlp.enabled", havingValue = "true")
+    public SpanExporter otlpSpanExporter(@Value("${shareit.tracing.otlp.endpoint:http://localhost:4317}") String endpoint) {
+        return OtlpGrpcSpanExporter.builder()
+                .setEndpoint(endpoint)
+                .build();
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.model.User;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    String USERS_CACHE = "users";
+
+    @Cacheable(USERS_CACHE)
     default User findByUserId(Long userId) {
         return findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
     }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.user.service;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.invalidation.CacheInvalidation;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -13,9 +16,11 @@ import java.util.List;
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -25,6 +30,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = UserRepository.USERS_CACHE, key = "#userDto.id")
     public UserDto update(UserDto userDto) {
         User updatedUser = UserMapper.toUser(userDto);
         User userFromDb = userRepository.findByUserId(updatedUser.getId());
@@ -32,7 +38,9 @@ public class UserServiceImpl implements UserService {
             updatedUser.setName(userFromDb.getName());
         if (updatedUser.getEmail() == null)
             updatedUser.setEmail(userFromDb.getEmail());
-        return UserMapper.toUserDto(userRepository.save(updatedUser));
+        UserDto userDtoFromDb = UserMapper.toUserDto(userRepository.save(updatedUser));
+        eventPublisher.publishEvent(CacheInvalidation.users(userDtoFromDb.getId()));
+        return userDtoFromDb;
     }
 
     @Override
@@ -53,8 +61,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = UserRepository.USERS_CACHE, key = "#userId")
     public void delete(Long userId) {
         User user = userRepository.getReferenceById(userId);
         userRepository.delete(user);
+        eventPublisher.publishEvent(CacheInvalidation.users(userId));
     }
 }
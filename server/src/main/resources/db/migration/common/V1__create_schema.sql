@@ -0,0 +1,44 @@
+CREATE TABLE users
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name   VARCHAR(255) NOT NULL,
+    email  VARCHAR(512) NOT NULL UNIQUE
+    );
+
+CREATE TABLE requests
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description VARCHAR(512),
+    requestor_id BIGINT REFERENCES users (id),
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+    );
+
+CREATE TABLE items
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(512),
+    is_available BOOLEAN,
+    owner_id BIGINT REFERENCES users (id),
+    request_id BIGINT REFERENCES requests (id)
+    );
+
+CREATE TABLE bookings
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_date TIMESTAMP WITHOUT TIME ZONE,
+    end_date TIMESTAMP WITHOUT TIME ZONE,
+    item_id BIGINT REFERENCES items (id),
+    user_id BIGINT REFERENCES users (id),
+    status VARCHAR(25)
+    );
+
+
+CREATE TABLE comments
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text VARCHAR(512),
+    item_id BIGINT REFERENCES items (id),
+    user_id BIGINT REFERENCES users (id),
+    created TIMESTAMP WITHOUT TIME ZONE
+    );
@@ -0,0 +1,9 @@
+CREATE INDEX idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX idx_bookings_booker_start ON bookings (user_id, start_date DESC, id DESC);
+
+CREATE INDEX idx_bookings_booker_status_start ON bookings (user_id, status, start_date DESC, id DESC);
+
+CREATE INDEX idx_items_owner ON items (owner_id, id);
@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_items_search_vector ON items USING GIN (search_vector) WHERE is_available;
+CREATE INDEX idx_items_name_trgm ON items USING GIN (lower(name) gin_trgm_ops) WHERE is_available;
+CREATE INDEX idx_items_description_trgm ON items USING GIN (lower(description) gin_trgm_ops) WHERE is_available;
@@ -0,0 +1,39 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- До ограничения сервис не проверял пересечения, поэтому старые данные приводятся к нему:
+-- по каждой вещи сначала подтверждённые, затем ожидающие брони в порядке id, и бронь,
+-- пересекающая уже оставленную, отклоняется (WAITING) или отменяется (APPROVED).
+-- Брони без дат или с началом не раньше конца под ограничение не попадают.
+DO $$
+DECLARE
+    booking      RECORD;
+    current_item BIGINT;
+BEGIN
+    CREATE TEMPORARY TABLE kept_periods (period tsrange) ON COMMIT DROP;
+    FOR booking IN
+        SELECT id, item_id, status, tsrange(start_date, end_date) AS period
+        FROM bookings
+        WHERE status IN ('WAITING', 'APPROVED') AND start_date < end_date
+        ORDER BY item_id, status = 'WAITING', id
+    LOOP
+        IF current_item IS DISTINCT FROM booking.item_id THEN
+            DELETE FROM kept_periods;
+            current_item := booking.item_id;
+        END IF;
+        IF EXISTS (SELECT 1 FROM kept_periods WHERE period && booking.period) THEN
+            UPDATE bookings
+            SET status  = CASE booking.status WHEN 'WAITING' THEN 'REJECTED' ELSE 'CANCELED' END,
+                version = version + 1
+            WHERE id = booking.id;
+            RAISE NOTICE 'Booking % of item % overlaps an earlier booking, status % changed',
+                booking.id, booking.item_id, booking.status;
+        ELSE
+            INSERT INTO kept_periods VALUES (booking.period);
+        END IF;
+    END LOOP;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap EXCLUDE USING gist (
+    item_id WITH =,
+    tsrange(start_date, end_date) WITH &&
+) WHERE (status IN ('WAITING', 'APPROVED') AND start_date < end_date);
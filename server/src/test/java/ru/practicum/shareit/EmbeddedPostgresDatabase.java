@@ -0,0 +1,76 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Встроенный PostgreSQL для проверки SQL, который H2 не выполняет: полнотекстового поиска и ограничений исключения.
+ * Сервер запускается один раз на JVM, каждый тест получает свою базу с миграциями common, postgresql
+ * и postgresql-search, как у сервера в профиле postgres.
+ * PostgreSQL отказывается работать от root, поэтому такие тесты помечаются
+ * {@code @DisabledIfSystemProperty(named = "user.name", matches = "root")}.
+ */
+public final class EmbeddedPostgresDatabase {
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresDatabase() {
+    }
+
+    public static String createMigratedDatabase() {
+        String jdbcUrl = createDatabase();
+        migrate(jdbcUrl, "latest");
+        return jdbcUrl;
+    }
+
+    /**
+     * Пустая база без миграций: тест сам доводит её до нужной версии через {@link #migrate}.
+     */
+    public static String createDatabase() {
+        String name = "shareit_" + DATABASES.incrementAndGet();
+        EmbeddedPostgres server = server();
+        try (Connection connection = server.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось создать базу " + name, e);
+        }
+        return server.getJdbcUrl("postgres", name);
+    }
+
+    public static void migrate(String jdbcUrl, String targetVersion) {
+        Flyway.configure()
+                .dataSource(jdbcUrl, "postgres", "postgres")
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql",
+                        "classpath:db/migration/postgresql-search")
+                .target(targetVersion)
+                .load()
+                .migrate();
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // Процесс PostgreSQL завершится вместе с JVM
+                }
+            }));
+        }
+        return postgres;
+    }
+}
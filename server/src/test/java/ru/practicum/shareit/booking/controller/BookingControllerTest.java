@@ -7,8 +7,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.WrongRequestException;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -25,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = BookingController.class)
@@ -85,6 +88,17 @@ class BookingControllerTest {
         assertEquals(objectMapper.writeValueAsString(bookingDto), content);
     }
 
+    @Test
+    void shouldReturnConflictIfBookingDecidedConcurrently() throws Exception {
+        when(bookingServiceMock.update(1L, 42L, false))
+                .thenThrow(new ConflictException("Бронирование уже рассмотрено другим запросом"));
+        mockMvc.perform(patch("/bookings/{bookingId}", 42L)
+                        .param("approved", "false")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void shouldFindBookingById() throws Exception {
         LocalDateTime start = LocalDateTime.now();
@@ -183,6 +197,41 @@ class BookingControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDto))));
     }
 
+    @Test
+    void shouldGetBookingsPageByOwnerWithNextCursor() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(7L);
+        bookingDto.setStart(start);
+        bookingDto.setEnd(start.plusDays(1));
+        bookingDto.setItem(new ItemDto(1L, "item"));
+        when(bookingServiceMock.getBookingsPageByOwner(1L, "ALL", "", 1))
+                .thenReturn(List.of(bookingDto));
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        new BookingCursor(start, 7L).encode()))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDto))));
+    }
+
+    @Test
+    void shouldNotReturnNextCursorOnLastPage() throws Exception {
+        when(bookingServiceMock.getBookingsPageByBooker(1L, "ALL", "abc", 10))
+                .thenReturn(List.of());
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "10")
+                        .param("cursor", "abc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void shouldNotGetAllBookingsByOwnerIfUnknownState() throws Exception {
         when(bookingServiceMock.getAllBookingsByOwner(1L, "available", 0, 1))
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.WrongRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+    @Test
+    void shouldDecodeEncodedCursor() {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 1, 10, 0, 0, 123456000);
+        BookingCursor decoded = BookingCursor.decode(new BookingCursor(start, 42L).encode());
+        assertEquals(start, decoded.getStart());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void shouldTreatBlankCursorAsFirstPage() {
+        assertNull(BookingCursor.decode(""));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(WrongRequestException.class, () -> BookingCursor.decode("not-a-cursor"));
+    }
+}
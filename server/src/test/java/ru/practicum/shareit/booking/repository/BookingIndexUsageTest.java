@@ -0,0 +1,213 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.EmbeddedPostgresDatabase;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.repository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@DisabledIfSystemProperty(named = "user.name", matches = "root")
+class BookingIndexUsageTest {
+    private static final String ITEM_STATUS_START = "IDX_BOOKINGS_ITEM_STATUS_START";
+    private static final String ITEM_START = "IDX_BOOKINGS_ITEM_START";
+    private static final String BOOKER_START = "IDX_BOOKINGS_BOOKER_START";
+    private static final String BOOKER_STATUS_START = "IDX_BOOKINGS_BOOKER_STATUS_START";
+    private static final String ITEMS_OWNER = "IDX_ITEMS_OWNER";
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime time = LocalDateTime.now();
+    private Long firstUserId;
+    private Long firstItemId;
+    private Long firstBookingId;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        String jdbcUrl = EmbeddedPostgresDatabase.createMigratedDatabase();
+        registry.add("spring.datasource.url", () -> jdbcUrl);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        jdbcTemplate.update("insert into users (name, email) "
+                + "select 'user' || g, 'user' || g || '@mail.ru' from generate_series(1, 1000) g");
+        firstUserId = jdbcTemplate.queryForObject("select min(id) from users", Long.class);
+
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) "
+                + "select 'item' || g, 'description' || g, true, ? + g % 1000 from generate_series(0, 3999) g", firstUserId);
+        firstItemId = jdbcTemplate.queryForObject("select min(id) from items", Long.class);
+
+        List<String> statuses = Arrays.stream(Status.values()).map(Status::name).collect(Collectors.toList());
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, user_id, status) "
+                        + "select ? + g * interval '7 minutes', ? + g * interval '7 minutes' + interval '5 hours', "
+                        + "? + g % 4000, ? + g % 1000, (?::varchar[])[1 + g % ?] from generate_series(0, 99999) g",
+                time.minusDays(500), time.minusDays(500), firstItemId, firstUserId,
+                statuses.toArray(new String[0]), statuses.size());
+        firstBookingId = jdbcTemplate.queryForObject("select min(id) from bookings", Long.class);
+        jdbcTemplate.execute("analyze users, items, bookings");
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void migrationCreatesBookingIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select upper(indexname) from pg_indexes where tablename in ('bookings', 'items')", String.class);
+
+        assertTrue(indexes.containsAll(List.of("IDX_BOOKINGS_ITEM_STATUS_START", "IDX_BOOKINGS_ITEM_START",
+                "IDX_BOOKINGS_BOOKER_START", "IDX_BOOKINGS_BOOKER_STATUS_START", "IDX_ITEMS_OWNER")), indexes.toString());
+    }
+
+    @Test
+    void singleBookingQueriesUsePrimaryKey() {
+        bookingRepository.findById(firstBookingId);
+        assertPlanUses("BOOKINGS_PKEY");
+
+        bookingRepository.updateStatus(firstBookingId, Status.WAITING, Status.APPROVED);
+        assertPlanUses("BOOKINGS_PKEY");
+    }
+
+    @Test
+    void itemQueriesUseItemIndexes() {
+        bookingRepository.findAllByItemIdAndStatusIn(firstItemId, List.of(Status.WAITING, Status.APPROVED));
+        assertPlanUses(ITEM_STATUS_START);
+
+        bookingRepository.findLastAndNextApprovedBookings(List.of(firstItemId, firstItemId + 1), time);
+        assertPlanUses(ITEM_STATUS_START);
+
+        bookingRepository.findLastAndNextApprovedBookingsOfItem(firstItemId, time);
+        assertPlanUses(ITEM_STATUS_START);
+
+        bookingRepository.findAllByBookerIdAndItem_IdAndStatusAndEndIsBefore(firstUserId, firstItemId,
+                Status.APPROVED, time);
+        assertPlanUses(ITEM_START, BOOKER_STATUS_START);
+    }
+
+    @Test
+    void bookerQueriesUseBookerIndexes() {
+        bookingRepository.findAllByBookerIdOrderByStartDesc(firstUserId, PAGE);
+        assertPlanUses(BOOKER_START);
+
+        bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(firstUserId, time, PAGE);
+        assertPlanUses(BOOKER_START);
+
+        bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(firstUserId, time, PAGE);
+        assertPlanUses(BOOKER_START);
+
+        bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStart(firstUserId, time, time, PAGE);
+        assertPlanUses(BOOKER_START);
+
+        bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(firstUserId, Status.REJECTED, PAGE);
+        assertPlanUses(BOOKER_STATUS_START);
+    }
+
+    @Test
+    void bookerPagesUseBookerIndexes() {
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE")) {
+            bookingRepository.findBookerPageAfter(firstUserId, state, time, null, 10);
+            assertPlanUses(BOOKER_START);
+        }
+        for (String state : List.of("WAITING", "REJECTED")) {
+            bookingRepository.findBookerPageAfter(firstUserId, state, time, null, 10);
+            assertPlanUses(BOOKER_STATUS_START);
+        }
+        bookingRepository.findBookerPageAfter(firstUserId, "ALL", time, new BookingCursor(time, firstBookingId), 10);
+        assertPlanUses(BOOKER_START);
+    }
+
+    @Test
+    void ownerQueriesUseOwnerAndItemIndexes() {
+        bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(firstUserId, PAGE);
+        assertPlanUses(ITEMS_OWNER, ITEM_START);
+
+        bookingRepository.findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(firstUserId, time, time,
+                PAGE);
+        assertPlanUses(ITEMS_OWNER, ITEM_START);
+
+        bookingRepository.findAllByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(firstUserId, time, PAGE);
+        assertPlanUses(ITEMS_OWNER, ITEM_START);
+
+        bookingRepository.findAllByItem_OwnerIdAndStartIsAfterOrderByStartDesc(firstUserId, time, PAGE);
+        assertPlanUses(ITEMS_OWNER, ITEM_START);
+
+        bookingRepository.findAllByItem_OwnerIdAndStatusOrderByStartDesc(firstUserId, Status.WAITING, PAGE);
+        assertPlanUses(ITEMS_OWNER, ITEM_STATUS_START);
+    }
+
+    @Test
+    void ownerPagesUseOwnerAndItemIndexes() {
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE")) {
+            bookingRepository.findOwnerPageAfter(firstUserId, state, time, null, 10);
+            assertPlanUses(ITEMS_OWNER, ITEM_START);
+        }
+        for (String state : List.of("WAITING", "REJECTED")) {
+            bookingRepository.findOwnerPageAfter(firstUserId, state, time, null, 10);
+            assertPlanUses(ITEMS_OWNER, ITEM_STATUS_START);
+        }
+    }
+
+    /**
+     * Проверяет общий план первого выполненного запроса: в нём есть все индексы и нет последовательного
+     * чтения bookings. Инспектор видит только SQL без значений параметров, поэтому план строится
+     * через PREPARE в режиме force_generic_plan, где значения на выбор индексов не влияют.
+     */
+    private void assertPlanUses(String... indexes) {
+        List<String> statements = RecordingStatementInspector.statements();
+        assertFalse(statements.isEmpty(), "Запрос не был выполнен");
+        String plan = genericPlan(statements.get(0));
+        assertFalse(plan.contains("SEQ SCAN ON BOOKINGS"), "Последовательное чтение bookings:\n" + plan);
+        for (String index : indexes)
+            assertTrue(plan.contains(index), "В плане нет " + index + ":\n" + plan);
+        RecordingStatementInspector.clear();
+    }
+
+    private String genericPlan(String sql) {
+        int parameters = 0;
+        StringBuilder statement = new StringBuilder();
+        for (char symbol : sql.toCharArray()) {
+            if (symbol == '?')
+                statement.append('$').append(++parameters);
+            else
+                statement.append(symbol);
+        }
+        jdbcTemplate.execute("set plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("prepare checked_statement as " + statement);
+        try {
+            String arguments = parameters == 0 ? ""
+                    : "(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+            return String.join("\n", jdbcTemplate.queryForList("explain execute checked_statement" + arguments,
+                    String.class)).toUpperCase();
+        } finally {
+            jdbcTemplate.execute("deallocate checked_statement");
+            jdbcTemplate.execute("reset plan_cache_mode");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import ru.practicum.shareit.EmbeddedPostgresDatabase;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisabledIfSystemProperty(named = "user.name", matches = "root")
+class BookingOverlapConstraintTest {
+    private final LocalDateTime time = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private String jdbcUrl;
+
+    @BeforeEach
+    void beforeEach() throws SQLException {
+        jdbcUrl = EmbeddedPostgresDatabase.createMigratedDatabase();
+        try (Connection connection = connection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.com'),"
+                    + " (2, 'booker', 'booker@mail.com')");
+            statement.execute("INSERT INTO items (id, name, description, is_available, owner_id) VALUES"
+                    + " (1, 'Дрель', 'Ударная', true, 1), (2, 'Пила', 'Цепная', true, 1)");
+        }
+    }
+
+    @Test
+    void shouldRejectOverlappingActiveBookingOfSameItem() throws SQLException {
+        try (Connection connection = connection()) {
+            insertBooking(connection, 1, time, time.plusDays(2), "APPROVED");
+
+            SQLException e = assertThrows(SQLException.class,
+                    () -> insertBooking(connection, 1, time.plusDays(1), time.plusDays(3), "WAITING"));
+            assertEquals("23P01", e.getSQLState());
+        }
+    }
+
+    @Test
+    void shouldAllowAdjacentRejectedAndOtherItemBookings() throws SQLException {
+        try (Connection connection = connection()) {
+            insertBooking(connection, 1, time, time.plusDays(2), "WAITING");
+
+            insertBooking(connection, 1, time.plusDays(2), time.plusDays(3), "WAITING");
+            insertBooking(connection, 1, time.plusDays(1), time.plusDays(3), "REJECTED");
+            insertBooking(connection, 2, time, time.plusDays(2), "APPROVED");
+        }
+    }
+
+    @Test
+    void shouldResolveLegacyOverlapsBeforeAddingConstraint() throws SQLException {
+        jdbcUrl = EmbeddedPostgresDatabase.createDatabase();
+        EmbeddedPostgresDatabase.migrate(jdbcUrl, "4");
+        try (Connection connection = connection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.com'),"
+                    + " (2, 'booker', 'booker@mail.com')");
+            statement.execute("INSERT INTO items (id, name, description, is_available, owner_id) VALUES"
+                    + " (1, 'Дрель', 'Ударная', true, 1)");
+            insertBooking(connection, 1, time.plusDays(1), time.plusDays(3), "WAITING");
+            insertBooking(connection, 1, time, time.plusDays(2), "APPROVED");
+            insertBooking(connection, 1, time.plusDays(1), time.plusDays(2), "APPROVED");
+            insertBooking(connection, 1, time.plusDays(5), time.plusDays(6), "WAITING");
+            statement.execute("INSERT INTO bookings (item_id, user_id, status) VALUES (1, 2, 'WAITING')");
+        }
+
+        EmbeddedPostgresDatabase.migrate(jdbcUrl, "latest");
+
+        try (Connection connection = connection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT status FROM bookings ORDER BY id")) {
+            List<String> statuses = new ArrayList<>();
+            while (resultSet.next())
+                statuses.add(resultSet.getString(1));
+            assertEquals(List.of("REJECTED", "APPROVED", "CANCELED", "WAITING", "WAITING"), statuses);
+
+            SQLException e = assertThrows(SQLException.class,
+                    () -> insertBooking(connection, 1, time.plusDays(5), time.plusDays(7), "WAITING"));
+            assertEquals("23P01", e.getSQLState());
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, "postgres", "postgres");
+    }
+
+    private void insertBooking(Connection connection, long itemId, LocalDateTime start, LocalDateTime end,
+                               String status) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO bookings"
+                + " (start_date, end_date, item_id, user_id, status) VALUES (?, ?, ?, 2, ?)")) {
+            statement.setTimestamp(1, Timestamp.valueOf(start));
+            statement.setTimestamp(2, Timestamp.valueOf(end));
+            statement.setLong(3, itemId);
+            statement.setString(4, status);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -6,9 +6,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.WrongRequestException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.Request;
@@ -17,6 +20,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -83,7 +87,7 @@ class BookingRepositoryTest {
         request2.setCreated(LocalDateTime.now().minusDays(2));
         createdRequest2 = requestRepository.save(request2);
 
-        LocalDateTime currentTime = LocalDateTime.now();
+        LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
         Booking booking1 = new Booking();
         booking1.setItem(createdItem1);
@@ -129,33 +133,98 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void getFirstByItemIdAndStatusAndStartDateIsBeforeOrderByStartDateDesc() {
-        Booking actual = bookingRepository.findFirstByItemIdAndStatusAndStartIsBeforeOrderByStartDesc(createdItem1.getId(), Status.APPROVED, LocalDateTime.now());
-        assertEquals(createdBooking4, actual);
+    void findLastAndNextApprovedBookings() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        Booking olderPast = new Booking();
+        olderPast.setItem(createdItem1);
+        olderPast.setStatus(Status.APPROVED);
+        olderPast.setStart(currentTime.minusDays(20));
+        olderPast.setEnd(currentTime.minusDays(19));
+        olderPast.setBooker(createdUser2);
+        bookingRepository.save(olderPast);
+
+        Booking laterFuture = new Booking();
+        laterFuture.setItem(createdItem1);
+        laterFuture.setStatus(Status.APPROVED);
+        laterFuture.setStart(currentTime.plusDays(20));
+        laterFuture.setEnd(currentTime.plusDays(21));
+        laterFuture.setBooker(createdUser2);
+        bookingRepository.save(laterFuture);
+
+        Booking nearFuture = new Booking();
+        nearFuture.setItem(createdItem1);
+        nearFuture.setStatus(Status.APPROVED);
+        nearFuture.setStart(currentTime.plusDays(10));
+        nearFuture.setEnd(currentTime.plusDays(11));
+        nearFuture.setBooker(createdUser2);
+        Booking createdNearFuture = bookingRepository.save(nearFuture);
+
+        List<BookingShort> bookings = bookingRepository
+                .findLastAndNextApprovedBookings(List.of(createdItem1.getId(), createdItem2.getId()), currentTime);
+
+        assertEquals(2, bookings.size());
+        BookingShort last = bookings.stream().filter(b -> b.getStart().isBefore(currentTime)).findFirst().orElseThrow();
+        BookingShort next = bookings.stream().filter(b -> b.getStart().isAfter(currentTime)).findFirst().orElseThrow();
+        assertEquals(createdBooking2.getId(), last.getId());
+        assertEquals(createdItem1.getId(), last.getItemId());
+        assertEquals(createdUser1.getId(), last.getBookerId());
+        assertEquals(createdNearFuture.getId(), next.getId());
+        assertEquals(createdUser2.getId(), next.getBookerId());
     }
 
     @Test
-    void getFirstByItemIdAndStatusAndStartDateIsAfterOrderByStartDateAsc() {
-        Booking actual = bookingRepository.findFirstByItemIdAndStatusAndStartIsAfterOrderByStart(createdItem1.getId(), Status.WAITING, LocalDateTime.now());
-        assertEquals(createdBooking1, actual);
+    void findBookerPageAfter() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<Booking> firstPage = bookingRepository.findBookerPageAfter(createdUser1.getId(), "ALL", currentTime, null, 2);
+        assertEquals(List.of(createdBooking1, createdBooking4), firstPage);
+
+        BookingCursor cursor = new BookingCursor(createdBooking4.getStart(), createdBooking4.getId());
+        List<Booking> secondPage = bookingRepository.findBookerPageAfter(createdUser1.getId(), "ALL", currentTime, cursor, 2);
+        assertEquals(List.of(createdBooking2, createdBooking3), secondPage);
+
+        BookingCursor lastCursor = new BookingCursor(createdBooking3.getStart(), createdBooking3.getId());
+        assertTrue(bookingRepository.findBookerPageAfter(createdUser1.getId(), "ALL", currentTime, lastCursor, 2).isEmpty());
     }
 
     @Test
-    void getAllByEndDateBeforeAndStatusAndItemInOrderByStartDateDesc() {
-        List<Item> itemList = new java.util.ArrayList<>();
-        itemList.add(createdItem1);
-        List<Booking> bookingList = bookingRepository.findAllByEndBeforeAndStatusAndItemInOrderByStartDesc(LocalDateTime.now(), Status.APPROVED, itemList);
-        assertEquals(1, bookingList.size());
-        assertTrue(bookingList.contains(createdBooking2));
+    void findBookerCurrentPageAfterInAscendingOrder() {
+        LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Booking later = new Booking();
+        later.setItem(createdItem2);
+        later.setStatus(Status.APPROVED);
+        later.setStart(currentTime.minusDays(1));
+        later.setEnd(currentTime.plusDays(1));
+        later.setBooker(createdUser1);
+        Booking createdLater = bookingRepository.save(later);
+
+        assertEquals(List.of(createdBooking4, createdLater), bookingRepository
+                .findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStart(createdUser1.getId(), currentTime,
+                        currentTime, PageRequest.of(0, 10)));
+
+        List<Booking> firstPage = bookingRepository.findBookerPageAfter(createdUser1.getId(), "CURRENT", currentTime, null, 1);
+        assertEquals(List.of(createdBooking4), firstPage);
+
+        BookingCursor cursor = new BookingCursor(createdBooking4.getStart(), createdBooking4.getId());
+        assertEquals(List.of(createdLater),
+                bookingRepository.findBookerPageAfter(createdUser1.getId(), "CURRENT", currentTime, cursor, 1));
+
+        BookingCursor lastCursor = new BookingCursor(createdLater.getStart(), createdLater.getId());
+        assertTrue(bookingRepository.findBookerPageAfter(createdUser1.getId(), "CURRENT", currentTime, lastCursor, 1).isEmpty());
     }
 
     @Test
-    void getAllByStartDateAfterAndStatusAndItemInOrderByStartDateDesc() {
-        List<Item> itemList = new java.util.ArrayList<>();
-        itemList.add(createdItem1);
-        List<Booking> bookingList = bookingRepository.findAllByStartAfterAndStatusAndItemInOrderByStartDesc(LocalDateTime.now(), Status.WAITING, itemList);
-        assertEquals(1, bookingList.size());
-        assertTrue(bookingList.contains(createdBooking1));
+    void findOwnerPageAfterByState() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        assertEquals(List.of(createdBooking2),
+                bookingRepository.findOwnerPageAfter(createdUser1.getId(), "PAST", currentTime, null, 10));
+        assertEquals(List.of(createdBooking4),
+                bookingRepository.findOwnerPageAfter(createdUser1.getId(), "CURRENT", currentTime, null, 10));
+        assertEquals(List.of(createdBooking1),
+                bookingRepository.findOwnerPageAfter(createdUser1.getId(), "WAITING", currentTime, null, 10));
+        assertEquals(List.of(createdBooking3),
+                bookingRepository.findOwnerPageAfter(createdUser2.getId(), "REJECTED", currentTime, null, 10));
+        assertThrows(WrongRequestException.class,
+                () -> bookingRepository.findOwnerPageAfter(createdUser1.getId(), "UNKNOWN", currentTime, null, 10));
     }
 
     @Test
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest
+class BookingApprovalConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    BookingService bookingService;
+    @SpyBean
+    BookingRepository bookingRepository;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemService itemService;
+
+    UserDto owner;
+    UserDto booker;
+    ItemDto item;
+    List<Long> bookingIds = new ArrayList<>();
+    volatile CyclicBarrier bookingReads;
+
+    @BeforeEach
+    void beforeEach() {
+        doAnswer(invocation -> {
+            // Шпион над прокси репозитория передаёт вызовы настоящему бину через ответ по умолчанию
+            Object booking = mockingDetails(bookingRepository).getMockCreationSettings().getDefaultAnswer()
+                    .answer(invocation);
+            CyclicBarrier barrier = bookingReads;
+            if (barrier != null)
+                barrier.await(30, TimeUnit.SECONDS);
+            return booking;
+        }).when(bookingRepository).findByBookingId(any());
+
+        UserDto ownerDto = new UserDto();
+        ownerDto.setName("concurrentOwner");
+        ownerDto.setEmail("concurrentowner@mail.com");
+        owner = userService.create(ownerDto);
+
+        UserDto bookerDto = new UserDto();
+        bookerDto.setName("concurrentBooker");
+        bookerDto.setEmail("concurrentbooker@mail.com");
+        booker = userService.create(bookerDto);
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("concurrentItem");
+        itemDto.setDescription("concurrentDescription");
+        itemDto.setAvailable(true);
+        item = itemService.create(owner.getId(), itemDto);
+    }
+
+    @Test
+    void shouldLetExactlyOneOfConcurrentDecisionsWin() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                BookingDto booking = createBooking(round);
+                // Все решения читают WAITING до первого условного update, поэтому проигравшие получают конфликт
+                bookingReads = new CyclicBarrier(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<BookingDto>> decisions = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    boolean approved = i % 2 == 0;
+                    decisions.add(executor.submit(() -> {
+                        start.await();
+                        return bookingService.update(owner.getId(), booking.getId(), approved);
+                    }));
+                }
+                start.countDown();
+
+                List<Status> winners = new ArrayList<>();
+                for (Future<BookingDto> decision : decisions) {
+                    try {
+                        winners.add(decision.get(30, TimeUnit.SECONDS).getStatus());
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(ConflictException.class, e.getCause());
+                    }
+                }
+                bookingReads = null;
+
+                assertEquals(1, winners.size());
+                Booking stored = bookingRepository.findByBookingId(booking.getId());
+                assertEquals(winners.get(0), stored.getStatus());
+                assertEquals(1L, stored.getVersion());
+            }
+        } finally {
+            bookingReads = null;
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectSavingStaleBookingCopy() {
+        BookingDto booking = createBooking(0);
+        Booking first = bookingRepository.findByBookingId(booking.getId());
+        Booking second = bookingRepository.findByBookingId(booking.getId());
+
+        bookingService.update(owner.getId(), booking.getId(), true);
+        first.setStatus(Status.CANCELED);
+        second.setEnd(second.getEnd().plusHours(1));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.save(first));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.save(second));
+        assertEquals(Status.APPROVED, bookingRepository.findByBookingId(booking.getId()).getStatus());
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingIds.forEach(bookingService::delete);
+        itemService.delete(owner.getId(), item.getId());
+        userService.delete(owner.getId());
+        userService.delete(booker.getId());
+    }
+
+    private BookingDto createBooking(int round) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + round * 3L);
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(start);
+        bookingDto.setEnd(start.plusDays(1));
+        BookingDto created = bookingService.create(booker.getId(), bookingDto);
+        bookingIds.add(created.getId());
+        return created;
+    }
+}
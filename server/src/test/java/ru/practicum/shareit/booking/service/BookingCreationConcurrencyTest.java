@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.WrongRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+class BookingCreationConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemService itemService;
+
+    UserDto owner;
+    List<UserDto> bookers = new ArrayList<>();
+    ItemDto item;
+    List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        UserDto ownerDto = new UserDto();
+        ownerDto.setName("creationOwner");
+        ownerDto.setEmail("creationowner@mail.com");
+        owner = userService.create(ownerDto);
+
+        for (int i = 0; i < THREADS; i++) {
+            UserDto bookerDto = new UserDto();
+            bookerDto.setName("creationBooker" + i);
+            bookerDto.setEmail("creationbooker" + i + "@mail.com");
+            bookers.add(userService.create(bookerDto));
+        }
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("creationItem");
+        itemDto.setDescription("creationDescription");
+        itemDto.setAvailable(true);
+        item = itemService.create(owner.getId(), itemDto);
+    }
+
+    @Test
+    void shouldSaveOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDateTime start = LocalDateTime.now().plusDays(1 + round * 3L);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<BookingDto>> attempts = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    UserDto booker = bookers.get(i);
+                    // Интервалы сдвинуты друг относительно друга, но все пересекаются с первым
+                    LocalDateTime bookingStart = start.plusMinutes(i);
+                    attempts.add(executor.submit(() -> {
+                        go.await();
+                        BookingDto bookingDto = new BookingDto();
+                        bookingDto.setItemId(item.getId());
+                        bookingDto.setStart(bookingStart);
+                        bookingDto.setEnd(bookingStart.plusDays(1));
+                        return bookingService.create(booker.getId(), bookingDto);
+                    }));
+                }
+                go.countDown();
+
+                int created = 0;
+                for (Future<BookingDto> attempt : attempts) {
+                    try {
+                        bookingIds.add(attempt.get(30, TimeUnit.SECONDS).getId());
+                        created++;
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(WrongRequestException.class, e.getCause());
+                    }
+                }
+
+                assertEquals(1, created);
+            }
+            assertEquals(ROUNDS, bookingRepository.findAllByItemIdAndStatusIn(item.getId(),
+                    List.of(Status.WAITING, Status.APPROVED)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingIds.forEach(bookingService::delete);
+        itemService.delete(owner.getId(), item.getId());
+        userService.delete(owner.getId());
+        bookers.forEach(booker -> userService.delete(booker.getId()));
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+    private LocalDateTime time;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new BookingIntervalIndex(bookingRepository, 2);
+        time = LocalDateTime.now().withNano(0);
+    }
+
+    @Test
+    void shouldFindOverlapWithLoadedBookings() {
+        when(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any()))
+                .thenReturn(List.of(period(1L, time.plusDays(1), time.plusDays(3))));
+
+        assertTrue(index.hasOverlap(1L, time.plusDays(2), time.plusDays(4)));
+        assertTrue(index.hasOverlap(1L, time, time.plusDays(5)));
+        assertFalse(index.hasOverlap(1L, time, time.plusDays(1)));
+        assertFalse(index.hasOverlap(1L, time.plusDays(3), time.plusDays(4)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusIn(eq(1L), any());
+    }
+
+    @Test
+    void shouldRecheckCachedOverlapAgainstDatabase() {
+        when(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any()))
+                .thenReturn(List.of(period(1L, time.plusDays(1), time.plusDays(3))))
+                .thenReturn(List.of());
+        assertTrue(index.hasOverlap(1L, time.plusDays(2), time.plusDays(4)));
+
+        // Бронь 1 отклонили на другом экземпляре сервера
+        assertFalse(index.hasOverlap(1L, time.plusDays(2), time.plusDays(4)));
+        assertFalse(index.hasOverlap(1L, time.plusDays(1), time.plusDays(2)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusIn(eq(1L), any());
+    }
+
+    @Test
+    void shouldFindOverlapWithLongBookingStartedEarlier() {
+        when(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any()))
+                .thenReturn(List.of(period(1L, time, time.plusDays(30)),
+                        period(2L, time.plusDays(2), time.plusDays(3))));
+
+        assertTrue(index.hasOverlap(1L, time.plusDays(10), time.plusDays(11)));
+    }
+
+    @Test
+    void shouldTrackAddedAndRemovedBookings() {
+        when(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(period(5L, time.plusDays(1), time.plusDays(2))));
+        assertFalse(index.hasOverlap(1L, time.plusDays(1), time.plusDays(2)));
+
+        index.add(booking(5L, 1L, Status.WAITING, time.plusDays(1), time.plusDays(2)));
+        assertTrue(index.hasOverlap(1L, time.plusDays(1), time.plusDays(2)));
+
+        index.remove(1L, 5L);
+        assertFalse(index.hasOverlap(1L, time.plusDays(1), time.plusDays(2)));
+    }
+
+    @Test
+    void shouldIgnoreRejectedBookings() {
+        when(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any())).thenReturn(List.of());
+        index.hasOverlap(1L, time, time.plusDays(1));
+
+        index.add(booking(5L, 1L, Status.REJECTED, time.plusDays(1), time.plusDays(2)));
+        assertFalse(index.hasOverlap(1L, time.plusDays(1), time.plusDays(2)));
+    }
+
+    @Test
+    void shouldKeepBookingAddedWhileItemIsLoading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> check = executor.submit(() -> index.hasOverlap(1L, time, time.plusDays(1)));
+            loading.await();
+            Future<?> add = executor.submit(() -> index.add(booking(5L, 1L, Status.WAITING,
+                    time.plusDays(1), time.plusDays(2))));
+            release.countDown();
+
+            assertFalse(check.get(5, TimeUnit.SECONDS));
+            add.get(5, TimeUnit.SECONDS);
+            // Без брони в кэше проверка ответила бы false, не перечитывая базу
+            index.hasOverlap(1L, time.plusDays(1), time.plusDays(2));
+            verify(bookingRepository, times(2)).findAllByItemIdAndStatusIn(eq(1L), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReloadEvictedItems() {
+        when(bookingRepository.findAllByItemIdAndStatusIn(any(), any())).thenReturn(List.of());
+        index.hasOverlap(1L, time, time.plusDays(1));
+        index.hasOverlap(2L, time, time.plusDays(1));
+        index.hasOverlap(3L, time, time.plusDays(1));
+        index.hasOverlap(1L, time, time.plusDays(1));
+
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusIn(eq(1L), any());
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatusIn(eq(3L), any());
+    }
+
+    private BookingPeriod period(Long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingPeriod() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+
+    private Booking booking(Long id, Long itemId, Status status, LocalDateTime start, LocalDateTime end) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStatus(status);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingServiceStatisticsTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private final List<Item> items = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("listOwner"));
+        booker = userRepository.save(user("listBooker"));
+        LocalDateTime time = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            Item item = new Item();
+            item.setName("listItem" + i);
+            item.setDescription("listDescription" + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            items.add(itemRepository.save(item));
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(Status.WAITING);
+            booking.setStart(time.plusDays(i));
+            booking.setEnd(time.plusDays(i).plusHours(1));
+            bookings.add(bookingRepository.save(booking));
+        }
+        userRepository.findByUserId(owner.getId());
+        userRepository.findByUserId(booker.getId());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bookerListLoadsItemsInSameStatement() {
+        List<BookingDto> result = bookingService.getAllBookingsByBooker(booker.getId(), "ALL", 0, 10);
+
+        assertEquals(3, result.size());
+        assertEquals("listItem3", result.get(0).getItem().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    void ownerPageLoadsItemsInSameStatement() {
+        List<BookingDto> result = bookingService.getBookingsPageByOwner(owner.getId(), "WAITING", null, 10);
+
+        assertEquals(3, result.size());
+        assertEquals(booker.getId(), result.get(2).getBooker().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll(bookings);
+        itemRepository.deleteAll(items);
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
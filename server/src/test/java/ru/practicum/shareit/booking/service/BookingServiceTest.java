@@ -6,11 +6,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.WrongRequestException;
 import ru.practicum.shareit.item.model.Item;
@@ -21,11 +23,13 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +44,12 @@ class BookingServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -76,6 +86,7 @@ class BookingServiceTest {
         when(itemRepository.findByItemId(any())).thenReturn(item);
         when(userRepository.findByUserId(any())).thenReturn(booker);
         when(bookingRepository.save(any())).thenReturn(booking);
+        runUnderItemLock();
 
         BookingDto bookingDto = bookingService.create(booker.getId(), BookingMapper.toBookingDto(booking));
         assertEquals(bookingDto.getId(), booking.getId());
@@ -148,6 +159,41 @@ class BookingServiceTest {
         verify(userRepository).findByUserId(any());
     }
 
+    @Test
+    void shouldNotCreateIfItemIsAlreadyBooked() {
+        User owner = new User();
+        owner.setId(2L);
+        owner.setName("owner");
+        owner.setEmail("owner@mail.ru");
+
+        User booker = new User();
+        booker.setId(1L);
+        booker.setName("booker");
+        booker.setEmail("booker@mail.ru");
+
+        Item item = new Item();
+        item.setId(1L);
+        item.setName("item");
+        item.setDescription("description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStart(LocalDateTime.now().plusHours(1));
+        booking.setEnd(LocalDateTime.now().plusDays(1));
+
+        when(itemRepository.findByItemId(any())).thenReturn(item);
+        when(userRepository.findByUserId(any())).thenReturn(booker);
+        when(bookingIntervalIndex.hasOverlap(any(), any(), any())).thenReturn(true);
+        runUnderItemLock();
+
+        assertThrows(WrongRequestException.class, () -> bookingService.create(booker.getId(), BookingMapper.toBookingDto(booking)));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void shouldUpdateBooking() {
         User owner = new User();
@@ -177,10 +223,46 @@ class BookingServiceTest {
 
         when(bookingRepository.findByBookingId(1L)).thenReturn(booking);
         when(userRepository.findByUserId(2L)).thenReturn(owner);
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.updateStatus(1L, Status.WAITING, Status.APPROVED)).thenReturn(1);
 
         BookingDto bookingResponseDto = bookingService.update(2L, 1L, true);
         assertEquals(bookingResponseDto.getStatus(), Status.APPROVED);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotUpdateIfStatusChangedConcurrently() {
+        User owner = new User();
+        owner.setId(2L);
+        owner.setName("owner");
+        owner.setEmail("owner@mail.ru");
+
+        User booker = new User();
+        booker.setId(1L);
+        booker.setName("booker");
+        booker.setEmail("booker@mail.ru");
+
+        Item item = new Item();
+        item.setId(1L);
+        item.setName("item");
+        item.setDescription("description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(Status.WAITING);
+        booking.setStart(LocalDateTime.now().plusHours(1));
+        booking.setEnd(LocalDateTime.now().plusDays(1));
+
+        when(bookingRepository.findByBookingId(1L)).thenReturn(booking);
+        when(userRepository.findByUserId(2L)).thenReturn(owner);
+        when(bookingRepository.updateStatus(1L, Status.WAITING, Status.REJECTED)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> bookingService.update(2L, 1L, false));
+        verify(bookingIntervalIndex, never()).remove(any(), any());
     }
 
     @Test
@@ -338,6 +420,11 @@ class BookingServiceTest {
 
         assertThrows(WrongRequestException.class, () -> bookingService.getAllBookingsByBooker(booker.getId(), "unknown", 0, 10));
     }
+
+    private void runUnderItemLock() {
+        when(bookingIntervalIndex.underItemLock(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
 }
 
 //@ExtendWith(MockitoExtension.class)
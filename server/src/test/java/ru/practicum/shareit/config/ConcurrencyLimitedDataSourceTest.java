@@ -0,0 +1,104 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+    @Mock
+    private DataSource dataSource;
+
+    private ConcurrencyLimitedDataSource limited;
+
+    @BeforeEach
+    void beforeEach() {
+        limited = new ConcurrencyLimitedDataSource(dataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldRejectConnectionsOverLimitUntilOneIsClosed() throws SQLException {
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        Connection first = limited.getConnection();
+        limited.getConnection();
+        assertEquals(0, limited.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, () -> limited.getConnection());
+
+        first.close();
+        assertEquals(1, limited.availablePermits());
+        limited.getConnection();
+        assertEquals(0, limited.availablePermits());
+    }
+
+    @Test
+    void shouldReleasePermitOnceWhenClosedTwice() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        Connection limitedConnection = limited.getConnection();
+        limitedConnection.close();
+        limitedConnection.close();
+
+        assertEquals(2, limited.availablePermits());
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void shouldNotExposeRawConnectionThroughUnwrap() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        Connection limitedConnection = limited.getConnection();
+
+        assertSame(limitedConnection, limitedConnection.unwrap(Connection.class));
+        assertTrue(limitedConnection.isWrapperFor(Connection.class));
+        limitedConnection.unwrap(Connection.class).close();
+        assertEquals(2, limited.availablePermits());
+        verify(connection, never()).unwrap(any());
+    }
+
+    @Test
+    void shouldCompareConnectionsByIdentity() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        Connection first = limited.getConnection();
+        Connection second = limited.getConnection();
+
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+        assertEquals(System.identityHashCode(first), first.hashCode());
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool is down"));
+
+        assertThrows(SQLException.class, () -> limited.getConnection());
+
+        assertEquals(2, limited.availablePermits());
+    }
+}
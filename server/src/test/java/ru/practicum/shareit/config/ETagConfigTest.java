@@ -0,0 +1,89 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ETagConfigTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+
+    private UserDto user;
+
+    @BeforeEach
+    void beforeEach() {
+        UserDto userDto = new UserDto();
+        userDto.setName("eTagUser");
+        userDto.setEmail("etaguser@mail.com");
+        user = userService.create(userDto);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        String eTag = eTag("/users/" + user.getId());
+        assertTrue(eTag.startsWith("W/\""));
+
+        mockMvc.perform(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldChangeETagWhenResourceChanges() throws Exception {
+        String eTag = eTag("/users/" + user.getId());
+
+        mockMvc.perform(patch("/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamedETagUser\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+
+                .andExpect(status().isOk());
+        assertNotEquals(eTag, eTag("/users/" + user.getId()));
+    }
+
+    @Test
+    void shouldTagLists() throws Exception {
+        String eTag = eTag("/users");
+
+        mockMvc.perform(get("/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+
+                .andExpect(status().isNotModified());
+    }
+
+    @AfterEach
+    void afterEach() {
+        userService.delete(user.getId());
+    }
+
+    private String eTag(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+}
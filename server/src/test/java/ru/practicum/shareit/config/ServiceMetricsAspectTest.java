@@ -0,0 +1,56 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMetrics
+class ServiceMetricsAspectTest {
+    @Autowired
+    private UserService userService;
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldExportServiceRepositoryHibernateCacheAndPoolMetrics() throws Exception {
+        UserDto userDto = new UserDto();
+        userDto.setName("metricsUser");
+        userDto.setEmail("metricsuser@mail.com");
+        UserDto user = userService.create(userDto);
+        userService.findUserDtoById(user.getId());
+        userService.delete(user.getId());
+        assertThrows(NotFoundException.class, () -> userService.findUserDtoById(user.getId()));
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        String scrape = response.body();
+        assertTrue(scrape.contains("shareit_service_seconds_count{exception=\"none\",operation=\"create\","
+                + "outcome=\"success\",service=\"UserService\",}"), scrape);
+        assertTrue(scrape.contains("shareit_service_seconds_count{exception=\"NotFoundException\","
+                + "operation=\"findUserDtoById\",outcome=\"error\",service=\"UserService\",}"), scrape);
+        assertTrue(scrape.contains("shareit_service_seconds_bucket{"), scrape);
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_count{"), scrape);
+        assertTrue(scrape.contains("hibernate_statements_total{"), scrape);
+        assertTrue(scrape.contains("hibernate_entities_loads_total{"), scrape);
+        assertTrue(scrape.contains("cache_gets_total{cache=\"users\""), scrape);
+        assertTrue(scrape.contains("hikaricp_connections_active{"), scrape);
+    }
+}
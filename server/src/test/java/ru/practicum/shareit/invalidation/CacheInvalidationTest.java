@@ -0,0 +1,142 @@
+package ru.practicum.shareit.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@RecordApplicationEvents
+class CacheInvalidationTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ApplicationEvents events;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private UserDto user;
+
+    @BeforeEach
+    void beforeEach() {
+        UserDto userDto = new UserDto();
+        userDto.setName("invalidationUser");
+        userDto.setEmail("invalidationuser@mail.com");
+        user = userService.create(userDto);
+    }
+
+    @Test
+    void shouldPublishItemChanges() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("invalidationItem");
+        itemDto.setDescription("invalidationDescription");
+        itemDto.setAvailable(true);
+        ItemDto item = itemService.create(user.getId(), itemDto);
+        ItemDto update = new ItemDto();
+        update.setName("renamedItem");
+        itemService.update(user.getId(), item.getId(), update);
+        itemService.delete(user.getId(), item.getId());
+
+        assertEquals(List.of(CacheInvalidation.items(item.getId()), CacheInvalidation.items(item.getId()),
+                CacheInvalidation.items(item.getId())), published());
+    }
+
+    @Test
+    void shouldPublishBookingDeletion() {
+        UserDto ownerDto = new UserDto();
+        ownerDto.setName("invalidationOwner");
+        ownerDto.setEmail("invalidationowner@mail.com");
+        UserDto owner = userService.create(ownerDto);
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("bookedItem");
+        itemDto.setDescription("bookedDescription");
+        itemDto.setAvailable(true);
+        ItemDto item = itemService.create(owner.getId(), itemDto);
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto booking = bookingService.create(user.getId(), bookingDto);
+        events.clear();
+
+        bookingService.delete(booking.getId());
+
+        assertEquals(List.of(CacheInvalidation.items(item.getId())), published());
+        itemService.delete(owner.getId(), item.getId());
+        userService.delete(owner.getId());
+    }
+
+    @Test
+    void shouldReturnInvalidationsOfWriteInResponseHeader() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/users/" + user.getId()))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"name\":\"renamedUser\"}"))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of("users:" + user.getId()), response.headers().allValues(CacheInvalidation.HEADER));
+    }
+
+    @Test
+    void shouldStreamInvalidationsToSubscribers() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/internal/invalidations"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        CompletableFuture<String> received = CompletableFuture.supplyAsync(() -> response.body()
+                .filter(line -> line.startsWith("data:"))
+                .findFirst()
+                .orElse(null));
+
+        UserDto update = new UserDto();
+        update.setId(user.getId());
+        update.setName("renamedUser");
+        userService.update(update);
+
+        assertEquals("data:users:" + user.getId(), received.get(5, TimeUnit.SECONDS));
+        response.body().close();
+    }
+
+    @AfterEach
+    void afterEach() {
+        userService.delete(user.getId());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private List<CacheInvalidation> published() {
+        return events.stream(CacheInvalidation.class).collect(Collectors.toList());
+    }
+}
@@ -140,14 +140,16 @@ class ItemControllerTest {
         item.setName("itemNameTest");
         item.setDescription("DescriptionTest");
         item.setComments(new ArrayList<>());
-        when(itemServiceMock.findItemForRental(any())).thenReturn(List.of(item));
+        when(itemServiceMock.findItemForRental(any(), any(), any())).thenReturn(List.of(item));
 
         mockMvc.perform(get("/items/search")
-                        .param("text", "Test"))
+                        .param("text", "Test")
+                        .param("from", "0")
+                        .param("size", "10"))
 
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(item))));
-        verify(itemServiceMock).findItemForRental(any());
+        verify(itemServiceMock).findItemForRental("Test", 0, 10);
     }
 
     @Test
@@ -3,16 +3,19 @@ package ru.practicum.shareit.item.dto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest
 class ItemMapperTest {
@@ -90,4 +93,115 @@ class ItemMapperTest {
         assertEquals(actual.get(0).getAvailable(), item.getAvailable());
         assertFalse(actual.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void toItemDtoListWithBookings() {
+        Item otherItem = new Item();
+        otherItem.setId(2L);
+        otherItem.setName("otherItem");
+        LocalDateTime time = LocalDateTime.of(2022, 10, 1, 12, 0);
+
+        List<ItemDto> actual = ItemMapper.toItemDtoListWithBookings(List.of(item, otherItem),
+                List.of(bookingShort(10L, 1L, time.minusDays(1)), bookingShort(11L, 1L, time.plusDays(1))), time);
+
+        assertEquals(10L, actual.get(0).getLastBooking().getId());
+        assertEquals(11L, actual.get(0).getNextBooking().getId());
+        assertEquals(5L, actual.get(0).getNextBooking().getBookerId());
+        assertNull(actual.get(1).getLastBooking());
+        assertNull(actual.get(1).getNextBooking());
+    }
+
+    @Test
+    void toItemDtoWithComments() {
+        ItemDto withComment = ItemMapper.toItemDtoWithComments(List.of(commentRow(7L), commentRow(8L)));
+        ItemDto withoutComments = ItemMapper.toItemDtoWithComments(List.of(commentRow(null)));
+
+        assertEquals(item.getName(), withComment.getName());
+        assertEquals(2, withComment.getComments().size());
+        assertEquals(8L, withComment.getComments().get(1).getId());
+        assertEquals(0, withoutComments.getComments().size());
+    }
+
+    private static BookingShort bookingShort(Long id, Long itemId, LocalDateTime start) {
+        return new BookingShort() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return 5L;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+        };
+    }
+
+    private ItemCommentRow commentRow(Long commentId) {
+        return new ItemCommentRow() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return user.getId();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return null;
+            }
+
+            @Override
+            public Long getCommentId() {
+                return commentId;
+            }
+
+            @Override
+            public String getCommentText() {
+                return commentId == null ? null : "comment";
+            }
+
+            @Override
+            public LocalDateTime getCommentCreated() {
+                return null;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return commentId == null ? null : user.getId();
+            }
+
+            @Override
+            public String getAuthorName() {
+                return commentId == null ? null : user.getName();
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.EmbeddedPostgresDatabase;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@DisabledIfSystemProperty(named = "user.name", matches = "root")
+class ItemFullTextSearchTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        String jdbcUrl = EmbeddedPostgresDatabase.createMigratedDatabase();
+        registry.add("spring.datasource.url", () -> jdbcUrl);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        // Встроенный кластер работает в локали C, где lower() не меняет регистр кириллицы
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.com')");
+        jdbcTemplate.update("insert into items (id, name, description, is_available, owner_id) values "
+                + "(1, 'Ударная дрель', 'Для бетона', true, 1), "
+                + "(2, 'Перфоратор', 'Сверлит лучше, чем дрель', true, 1), "
+                + "(3, 'Старая дрель', 'Без аккумулятора', false, 1), "
+                + "(4, 'Шуруповёрт', 'Почти дрель: дрель без удара, крутит шурупы', true, 1), "
+                + "(5, 'Пила', 'Цепная', true, 1), "
+                + "(6, 'Строительная дрель-миксер', 'Мешает раствор', true, 1)");
+    }
+
+    @Test
+    void shouldPutNameHitsFirstAndSkipUnavailableItems() {
+        List<Long> found = itemRepository.findAvailableItemIdsByFullText("дрель", PageRequest.of(0, 10));
+
+        assertEquals(4, found.size(), found.toString());
+        assertEquals(Set.of(1L, 6L), Set.copyOf(found.subList(0, 2)));
+        assertEquals(List.of(4L, 2L), found.subList(2, 4));
+    }
+
+    @Test
+    void shouldSplitResultIntoPagesWithoutGapsOrRepeats() {
+        List<Long> all = itemRepository.findAvailableItemIdsByFullText("дрель", PageRequest.of(0, 10));
+
+        List<Long> first = itemRepository.findAvailableItemIdsByFullText("дрель", PageRequest.of(0, 3));
+        List<Long> second = itemRepository.findAvailableItemIdsByFullText("дрель", PageRequest.of(1, 3));
+        List<Long> third = itemRepository.findAvailableItemIdsByFullText("дрель", PageRequest.of(2, 3));
+
+        assertEquals(all.subList(0, 3), first);
+        assertEquals(all.subList(3, 4), second);
+        assertTrue(third.isEmpty());
+    }
+
+    @Test
+    void shouldFindWordPartsByNameAndDescription() {
+        assertEquals(List.of(4L), itemRepository.findAvailableItemIdsByFullText("шуруп", PageRequest.of(0, 10)));
+        assertEquals(List.of(6L), itemRepository.findAvailableItemIdsByFullText("раствор", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void shouldAddSearchColumnWhenPostgresProfileIsEnabledLater() {
+        String jdbcUrl = EmbeddedPostgresDatabase.createDatabase();
+        Flyway.configure()
+                .dataSource(jdbcUrl, "postgres", "postgres")
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        JdbcTemplate database = new JdbcTemplate(new DriverManagerDataSource(jdbcUrl, "postgres", "postgres"));
+        assertEquals(0, searchVectorColumns(database));
+
+        Flyway.configure()
+                .dataSource(jdbcUrl, "postgres", "postgres")
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql",
+                        "classpath:db/migration/postgresql-search")
+                .outOfOrder(true)
+                .load()
+                .migrate();
+        assertEquals(1, searchVectorColumns(database));
+    }
+
+    private static int searchVectorColumns(JdbcTemplate database) {
+        Integer count = database.queryForObject("select count(*) from information_schema.columns "
+                + "where table_name = 'items' and column_name = 'search_vector'", Integer.class);
+        return count == null ? 0 : count;
+    }
+}
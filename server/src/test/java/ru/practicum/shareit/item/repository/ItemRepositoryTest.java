@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
@@ -76,12 +77,31 @@ class ItemRepositoryTest {
 
     @Test
     void getItemsByQuery_isValid() {
-        assertEquals(List.of(createdItem2), itemRepository.findItemForRental("testItem2"));
+        assertEquals(List.of(createdItem2), itemRepository.findItemForRental("testItem2", PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void getItemsByQuery_ranksNameMatchesFirst() {
+        Item describedDrill = new Item();
+        describedDrill.setName("Набор бит");
+        describedDrill.setDescription("Подходит к любой дрели");
+        describedDrill.setAvailable(true);
+        describedDrill.setOwner(createdUser1);
+        describedDrill = itemRepository.save(describedDrill);
+        Item drill = new Item();
+        drill.setName("Дрель");
+        drill.setDescription("Ударная");
+        drill.setAvailable(true);
+        drill.setOwner(createdUser2);
+        drill = itemRepository.save(drill);
+
+        assertEquals(List.of(drill, describedDrill), itemRepository.findItemForRental("дрел", PageRequest.of(0, 20)));
+        assertEquals(List.of(describedDrill), itemRepository.findItemForRental("дрел", PageRequest.of(1, 1)));
     }
 
     @Test
     void getItemsByQuery_isInvalid() {
-        assertEquals(List.of(), itemRepository.findItemForRental("asdasdasgas"));
+        assertEquals(List.of(), itemRepository.findItemForRental("asdasdasgas", PageRequest.of(0, 20)));
     }
 
     @Test
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final PageRequest page = PageRequest.of(0, 20);
+    private InMemoryItemSearchIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new InMemoryItemSearchIndex(itemRepository, Runnable::run, 2, 100);
+    }
+
+    @Test
+    void shouldLoadItemsInBatchesOnWarmUp() {
+        when(itemRepository.findAllByIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(List.of(item(1L, "Дрель", "Аккумуляторная дрель", true),
+                        item(2L, "Отвертка", "Крестовая", true)));
+        when(itemRepository.findAllByIdGreaterThanOrderById(eq(2L), any()))
+                .thenReturn(List.of(item(3L, "Дрель ударная", "Сетевая", false)));
+
+        assertFalse(index.isReady());
+        index.warmUp();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L), index.search("ДРЕЛЬ", page));
+        assertEquals(List.of(2L), index.search("крест", page));
+    }
+
+    @Test
+    void shouldWarmUpOnTaskExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        index = new InMemoryItemSearchIndex(itemRepository, tasks::add, 2, 100);
+        when(itemRepository.findAllByIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(List.of(item(1L, "Дрель", "Аккумуляторная дрель", true)));
+
+        index.startWarmUp();
+        assertFalse(index.isReady());
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L), index.search("дрель", page));
+    }
+
+    @Test
+    void shouldFindSubstringsOfThreeAndMoreCharacters() {
+        index.index(item(1L, "Saw", "Hand saw for wood", true));
+        index.index(item(2L, "Hammer", "Steel", true));
+
+        assertEquals(List.of(1L), index.search("saw", page));
+        assertEquals(List.of(1L), index.search("for wo", page));
+        assertEquals(List.of(2L), index.search("MMER", page));
+        assertEquals(List.of(), index.search("wood saw", page));
+        assertEquals(List.of(), index.search("saw hand", page));
+    }
+
+    @Test
+    void shouldLeaveShortQueriesToDatabase() {
+        index.warmUp();
+        index.index(item(1L, "Saw", "Hand saw", true));
+
+        assertTrue(index.canSearch("saw"));
+        assertFalse(index.canSearch("aw"));
+        assertEquals(List.of(), index.search("aw", page));
+    }
+
+    @Test
+    void shouldRankNameHitsAboveDescriptionHits() {
+        index.index(item(1L, "Hammer", "Drill bits included", true));
+        index.index(item(2L, "Drill", "Cordless", true));
+        index.index(item(3L, "Drill", "Drill with two drill bits", true));
+        index.index(item(4L, "Saw", "Drill guide", true));
+
+        assertEquals(List.of(3L, 2L, 1L, 4L), index.search("drill", page));
+    }
+
+    @Test
+    void shouldKeepNameHitsOnFullPageAmongManyDescriptionHits() {
+        for (long id = 1; id <= 50; id++)
+            index.index(item(id, "Tool " + id, "Tent for two", true));
+        index.index(item(51L, "Big tent", "Tent for four", true));
+        index.index(item(52L, "Ten tents", "Tent, tent", true));
+        // Все триграммы запроса есть в названии, но само слово — нет
+        index.index(item(53L, "Ten, ent", "Tent", true));
+
+        assertEquals(List.of(52L, 51L, 1L), index.search("tent", PageRequest.of(0, 3)));
+        assertEquals(List.of(50L, 53L), index.search("tent", PageRequest.of(17, 3)));
+    }
+
+    @Test
+    void shouldReturnRequestedPageOnly() {
+        for (long id = 1; id <= 10; id++)
+            index.index(item(id, "Item " + id, "Description", true));
+
+        assertEquals(List.of(1L, 2L, 3L), index.search("item", PageRequest.of(0, 3)));
+        assertEquals(List.of(4L, 5L, 6L), index.search("item", PageRequest.of(1, 3)));
+        assertEquals(List.of(10L), index.search("item", PageRequest.of(3, 3)));
+        assertEquals(List.of(), index.search("item", PageRequest.of(4, 3)));
+    }
+
+    @Test
+    void shouldRankOnlyFirstCandidatesOfFrequentWord() {
+        for (long id = 1; id <= 150; id++)
+            index.index(item(id, "Tool " + id, "Tent for two", true));
+        index.index(item(151L, "Big tent", "Tent for four", true));
+
+        List<Long> found = index.search("tent", PageRequest.of(0, 200));
+
+        assertEquals(100, found.size());
+        assertEquals(1L, found.get(0));
+        assertFalse(found.contains(151L));
+    }
+
+    @Test
+    void shouldReindexUpdatedAndRemovedItems() {
+        index.index(item(1L, "Saw", "Wood", true));
+        index.index(item(1L, "Drill", "Metal", true));
+
+        assertEquals(List.of(), index.search("saw", page));
+        assertEquals(List.of(1L), index.search("drill", page));
+
+        index.index(item(1L, "Drill", "Metal", false));
+        assertEquals(List.of(), index.search("drill", page));
+
+        index.index(item(2L, "Drill", "Wood", true));
+        index.remove(2L);
+        assertEquals(List.of(), index.search("drill", page));
+    }
+
+    @Test
+    void shouldCompactAfterManyUpdates() {
+        index.index(item(1L, "Saw", "Wood", true));
+        for (int i = 0; i < 5000; i++)
+            index.index(item(2L, "Drill " + i, "Metal", true));
+
+        assertEquals(List.of(2L), index.search("drill 4999", page));
+        assertEquals(List.of(), index.search("drill 4998", page));
+        assertEquals(List.of(2L), index.search("drill", page));
+        assertEquals(List.of(1L), index.search("saw", page));
+    }
+
+    @Test
+    void shouldSearchWhileItemsAreIndexed() throws Exception {
+        index.index(item(1L, "Drill", "Metal", true));
+        Thread writer = new Thread(() -> {
+            for (long id = 2; id <= 20000; id++)
+                index.index(item(id % 500 + 2, "Drill " + id, "Wood", true));
+        });
+        writer.start();
+        while (writer.isAlive())
+            assertEquals(1L, index.search("drill", page).get(0));
+        writer.join();
+
+        assertEquals(20, index.search("drill", page).size());
+    }
+
+    @Test
+    void shouldKeepChangesMadeDuringWarmUp() {
+        index.index(item(1L, "Drill", "Metal", true));
+        when(itemRepository.findAllByIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(List.of(item(1L, "Saw", "Wood", true)));
+
+        index.warmUp();
+
+        assertEquals(List.of(1L), index.search("drill", page));
+        assertEquals(List.of(), index.search("saw", page));
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
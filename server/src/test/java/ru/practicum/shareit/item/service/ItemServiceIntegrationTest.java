@@ -111,7 +111,7 @@ class ItemServiceIntegrationTest {
 
     @Test
     void searchAvailableItem_isCorrect_returnList() {
-        List<ItemDto> itemDtoList = itemService.findItemForRental("test");
+        List<ItemDto> itemDtoList = itemService.findItemForRental("test", 0, 20);
         assertNotNull(itemDtoList);
         assertEquals(1, itemDtoList.size());
         assertEquals(createdItem.getName(), itemDtoList.get(0).getName());
@@ -119,7 +119,7 @@ class ItemServiceIntegrationTest {
 
     @Test
     void searchAvailableItem_isIncorrect_returnList() {
-        List<ItemDto> itemDtoList = itemService.findItemForRental("blabla");
+        List<ItemDto> itemDtoList = itemService.findItemForRental("blabla", 0, 20);
         assertNotNull(itemDtoList);
         assertEquals(0, itemDtoList.size());
     }
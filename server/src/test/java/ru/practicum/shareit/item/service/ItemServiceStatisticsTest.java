@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemServiceStatisticsTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User author;
+    private Item item;
+    private Statistics statistics;
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Comment> comments = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(user("statisticsOwner"));
+        author = userRepository.save(user("statisticsAuthor"));
+        item = new Item();
+        item.setName("statisticsItem");
+        item.setDescription("statisticsDescription");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        LocalDateTime time = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            bookings.add(bookingRepository.save(booking(time.minusDays(i * 3L), time.minusDays(i * 3L - 1))));
+            Comment comment = new Comment();
+            comment.setText("comment" + i);
+            comment.setCreated(time);
+            comment.setItem(item);
+            comment.setUser(author);
+            comments.add(commentRepository.save(comment));
+        }
+        bookings.add(bookingRepository.save(booking(time.plusDays(1), time.plusDays(2))));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void ownerCardTakesTwoStatements() {
+        ItemDto itemDto = itemService.findItemById(owner.getId(), item.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(3, itemDto.getComments().size());
+        assertEquals(author.getName(), itemDto.getComments().get(0).getAuthorName());
+        assertEquals(bookings.get(0).getId(), itemDto.getLastBooking().getId());
+        assertEquals(bookings.get(3).getId(), itemDto.getNextBooking().getId());
+    }
+
+    @Test
+    void otherUserCardTakesOneStatement() {
+        ItemDto itemDto = itemService.findItemById(author.getId(), item.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("comment1", "comment2", "comment3"),
+                List.of(itemDto.getComments().get(0).getText(), itemDto.getComments().get(1).getText(),
+                        itemDto.getComments().get(2).getText()));
+        assertNull(itemDto.getLastBooking());
+    }
+
+    @AfterEach
+    void afterEach() {
+        commentRepository.deleteAll(comments);
+        bookingRepository.deleteAll(bookings);
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(author.getId());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(author);
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
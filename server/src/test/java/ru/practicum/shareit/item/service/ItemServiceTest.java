@@ -5,6 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -19,6 +21,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +35,10 @@ class ItemServiceTest {
     private UserRepository userRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
 //    @Test
 //    void getAllByOwner() {
@@ -70,17 +77,39 @@ class ItemServiceTest {
         ItemDto itemDto = ItemMapper.toItemDto(item);
         List<Item> returnedList = new ArrayList<>();
         returnedList.add(item);
-        when(itemRepository.findItemForRental("testItem")).thenReturn(returnedList);
+        when(itemRepository.findItemForRental("testItem", PageRequest.of(0, 20))).thenReturn(returnedList);
 
-        List<ItemDto> actual = itemService.findItemForRental("testItem");
+        List<ItemDto> actual = itemService.findItemForRental("testItem", 0, 20);
         assertEquals(itemDto.getId(), actual.get(0).getId());
         assertEquals(itemDto.getName(), actual.get(0).getName());
         assertEquals(itemDto.getDescription(), actual.get(0).getDescription());
     }
 
+    @Test
+    void searchAvailableItem_usesReadyIndex() {
+        Item item1 = new Item();
+        item1.setId(1L);
+        item1.setName("testItem");
+        item1.setAvailable(true);
+        item1.setOwner(new User());
+        Item item2 = new Item();
+        item2.setId(2L);
+        item2.setName("testItem2");
+        item2.setAvailable(true);
+        item2.setOwner(new User());
+        when(itemSearchIndex.canSearch("testItem")).thenReturn(true);
+        when(itemSearchIndex.search("testItem", PageRequest.of(1, 2))).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(item1, item2));
+
+        List<ItemDto> actual = itemService.findItemForRental("testItem", 2, 2);
+        assertEquals(2L, actual.get(0).getId());
+        assertEquals(1L, actual.get(1).getId());
+        verify(itemRepository, never()).findItemForRental(any(), any());
+    }
+
     @Test
     void searchAvailableItem_isBlank() {
-        assertTrue(itemService.findItemForRental("").isEmpty());
+        assertTrue(itemService.findItemForRental("", 0, 20).isEmpty());
     }
 
     @Test
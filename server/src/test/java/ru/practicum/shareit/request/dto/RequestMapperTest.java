@@ -0,0 +1,76 @@
+package ru.practicum.shareit.request.dto;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.model.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestMapperTest {
+
+    @Test
+    void shouldGroupItemsByRequest() {
+        Request first = request(1L);
+        Request second = request(2L);
+        Request empty = request(3L);
+
+        List<RequestDto> actual = RequestMapper.toRequestDtoList(List.of(first, second, empty),
+                List.of(item(10L, second), item(11L, first), item(12L, second)));
+
+        assertEquals(3, actual.size());
+        assertEquals(List.of(11L), itemIds(actual.get(0)));
+        assertEquals(List.of(10L, 12L), itemIds(actual.get(1)));
+        assertTrue(actual.get(2).getItems().isEmpty());
+    }
+
+    @Test
+    void shouldGroupEveryItemOfLargeFeed() {
+        int requestCount = 1_000;
+        int itemsPerRequest = 10;
+        List<Request> requests = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (long requestId = 1; requestId <= requestCount; requestId++)
+            requests.add(request(requestId));
+        for (int i = 0; i < requestCount * itemsPerRequest; i++)
+            items.add(item((long) i, requests.get(i % requestCount)));
+
+        List<RequestDto> actual = RequestMapper.toRequestDtoList(requests, items);
+
+        assertEquals(requestCount, actual.size());
+        for (int i = 0; i < requestCount; i++) {
+            RequestDto requestDto = actual.get(i);
+            assertEquals(requests.get(i).getId(), requestDto.getId());
+            assertEquals(itemsPerRequest, requestDto.getItems().size());
+            requestDto.getItems().forEach(itemDto -> assertEquals(requestDto.getId(), itemDto.getRequestId()));
+        }
+    }
+
+    private Request request(Long id) {
+        Request request = new Request();
+        request.setId(id);
+        request.setDescription("description" + id);
+        request.setRequestorId(1L);
+        return request;
+    }
+
+    private Item item(Long id, Request request) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("item" + id);
+        item.setDescription("description" + id);
+        item.setAvailable(true);
+        item.setRequest(request);
+        return item;
+    }
+
+    private List<Long> itemIds(RequestDto requestDto) {
+        List<Long> itemIds = new ArrayList<>();
+        requestDto.getItems().forEach(itemDto -> itemIds.add(itemDto.getId()));
+        return itemIds;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+    @Autowired
+    private SdkTracerProvider sdkTracerProvider;
+    @Autowired
+    private UserService userService;
+    @LocalServerPort
+    private int port;
+
+    private UserDto user;
+
+    @BeforeEach
+    void beforeEach() {
+        UserDto userDto = new UserDto();
+        userDto.setName("tracedUser");
+        userDto.setEmail("traceduser@mail.com");
+        user = userService.create(userDto);
+        spanExporter.reset();
+    }
+
+    @Test
+    void shouldContinueGatewayTraceThroughControllerServiceAndRepository() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + user.getId()))
+                .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01")
+                .build();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        List<SpanData> spans = finishedSpansWithServerSpan();
+        SpanData server = span(spans, "GET /users/{id}");
+        SpanData controller = span(spans, "UserController.findUserById");
+        SpanData service = span(spans, "UserService.findUserDtoById");
+        SpanData repository = span(spans, "UserRepository.findById");
+        assertEquals(SpanKind.SERVER, server.getKind());
+        assertEquals("/users/{id}", server.getAttributes().get(AttributeKey.stringKey("http.route")));
+        assertEquals(GATEWAY_SPAN_ID, server.getParentSpanId());
+        assertEquals(server.getSpanId(), controller.getParentSpanId());
+        assertEquals(controller.getSpanId(), service.getParentSpanId());
+        assertEquals(service.getSpanId(), repository.getParentSpanId());
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(TRACE_ID)));
+    }
+
+    @Test
+    void shouldNotTraceWorkOutsideRequests() {
+        userService.findUserDtoById(user.getId());
+
+        sdkTracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @AfterEach
+    void afterEach() {
+        userService.delete(user.getId());
+    }
+
+    private List<SpanData> finishedSpansWithServerSpan() throws InterruptedException {
+        // Серверный спан закрывается в фильтре уже после отправки ответа клиенту
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            sdkTracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+            List<SpanData> spans = spanExporter.getFinishedSpanItems();
+            if (spans.stream().anyMatch(span -> span.getKind() == SpanKind.SERVER) || System.nanoTime() > deadline)
+                return spans;
+            Thread.sleep(20);
+        }
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Нет спана " + name + " среди " + spans));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        public InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.user.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class UserCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private UserDto createdUser;
+
+    @BeforeEach
+    void beforeEach() {
+        UserDto user = new UserDto();
+        user.setName("cachedUser");
+        user.setEmail("cacheduser@mail.com");
+        createdUser = userService.create(user);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        Cache<Object, Object> cache = nativeCache();
+        long hits = cache.stats().hitCount();
+        long misses = cache.stats().missCount();
+
+        userRepository.findByUserId(createdUser.getId());
+        userRepository.findByUserId(createdUser.getId());
+
+        assertEquals(misses + 1, cache.stats().missCount());
+        assertEquals(hits + 1, cache.stats().hitCount());
+    }
+
+    @Test
+    void shouldEvictUserOnUpdate() {
+        userRepository.findByUserId(createdUser.getId());
+        assertNotNull(nativeCache().getIfPresent(createdUser.getId()));
+
+        UserDto update = new UserDto();
+        update.setId(createdUser.getId());
+        update.setName("renamedUser");
+        userService.update(update);
+
+        assertNull(nativeCache().getIfPresent(createdUser.getId()));
+        assertEquals("renamedUser", userRepository.findByUserId(createdUser.getId()).getName());
+    }
+
+    @Test
+    void shouldEvictUserOnDelete() {
+        UserDto user = new UserDto();
+        user.setName("deletedUser");
+        user.setEmail("deleteduser@mail.com");
+        UserDto deletedUser = userService.create(user);
+        userRepository.findByUserId(deletedUser.getId());
+
+        userService.delete(deletedUser.getId());
+
+        assertThrows(NotFoundException.class, () -> userRepository.findByUserId(deletedUser.getId()));
+    }
+
+    @AfterEach
+    void afterEach() {
+        userService.delete(createdUser.getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return ((CaffeineCache) cacheManager.getCache(UserRepository.USERS_CACHE)).getNativeCache();
+    }
+}
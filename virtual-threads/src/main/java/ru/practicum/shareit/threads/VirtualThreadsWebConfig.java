@@ -0,0 +1,42 @@
+package ru.practicum.shareit.threads;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Профиль virtual-threads для шлюза и сервера: каждый HTTP-запрос Tomcat обрабатывается в отдельном
+ * виртуальном потоке. В шлюзе число одновременных вызовов сервера по-прежнему ограничено пулом
+ * соединений shareit-server.http.*.
+ * Нужна Java 21+, а образы Docker собраны на Java 11, поэтому режим предназначен для локальных прогонов,
+ * например load-test с --threads=compare; в контейнере приложение с этим профилем не стартует.
+ */
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsWebConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Requests are handled on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() через отражение: проект компилируется под Java 11.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Профиль virtual-threads требует Java 21 или новее", e);
+        }
+    }
+}